@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.internal.EncodingDetectingInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EncodingDetectingInputStreamBenchmark {
+
+    @Param({"1024", "1048576"})
+    int size;
+
+    @Param({"true", "false"})
+    boolean ascii;
+
+    byte[] bytes;
+
+    @Setup
+    public void setup() {
+        String line = ascii ? "    <artifactId>rewrite-core</artifactId>\n" : "    <name>Café Lýðræðisríki</name>\n";
+        StringBuilder text = new StringBuilder(size);
+        while (text.length() < size) {
+            text.append(line);
+        }
+        bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * How {@link EncodingDetectingInputStream#readFully()} used to read, one byte and one charset guess at a time.
+     */
+    @Benchmark
+    public String readByteByByte() throws IOException {
+        try (EncodingDetectingInputStream is = new EncodingDetectingInputStream(new ByteArrayInputStream(bytes))) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            int b;
+            while ((b = is.read()) != -1) {
+                bos.write(b);
+            }
+            return new String(bos.toByteArray(), is.getCharset());
+        }
+    }
+
+    @Benchmark
+    public String readFully() {
+        return new EncodingDetectingInputStream(new ByteArrayInputStream(bytes)).readFully();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(EncodingDetectingInputStreamBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MethodMatcherBenchmark {
+
+    @Param({
+            "java.util.List add(..)",
+            "java.lang.String format(String, ..)",
+            "java.util.Objects requireNonNull(Object, String)",
+            "java.util.Map put(Object, Object)",
+            "*..* *(int, ..)"
+    })
+    String methodPattern;
+
+    MethodMatcher methodMatcher;
+
+    List<JavaType.Method> methodTypes;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MethodMatcherBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup(JavaCompilationUnitState state) {
+        methodMatcher = new MethodMatcher(methodPattern);
+        methodTypes = new ArrayList<>();
+        for (SourceFile sourceFile : state.getSourceFiles()) {
+            new JavaIsoVisitor<List<JavaType.Method>>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<JavaType.Method> methodTypes) {
+                    if (method.getMethodType() != null) {
+                        methodTypes.add(method.getMethodType());
+                    }
+                    return super.visitMethodInvocation(method, methodTypes);
+                }
+            }.visit(sourceFile, methodTypes);
+        }
+    }
+
+    @Benchmark
+    public void matches(Blackhole blackhole) {
+        for (JavaType.Method methodType : methodTypes) {
+            blackhole.consume(methodMatcher.matches(methodType));
+        }
+    }
+}
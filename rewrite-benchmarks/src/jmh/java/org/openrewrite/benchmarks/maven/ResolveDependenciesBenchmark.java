@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.maven;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.MavenDownloadingExceptions;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.internal.RawPom;
+import org.openrewrite.maven.tree.*;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Resolves a synthetic dependency graph that is served entirely from project POMs and cached metadata.
+ * Every hub depends on a window of libraries at a soft version and on a mid-level artifact, which in turn
+ * requires the next window of libraries with a version range, so every library has its version requirement
+ * changed once during resolution.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ResolveDependenciesBenchmark {
+    private static final String GROUP = "org.openrewrite.benchmarks";
+    private static final String REPOSITORY = "file:///synthetic-repository/";
+
+    @Param({"10", "40"})
+    int hubs;
+
+    @Param({"10"})
+    int librariesPerHub;
+
+    MavenExecutionContextView ctx;
+    MavenPomDownloader downloader;
+    ResolvedPom root;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ResolveDependenciesBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws MavenDownloadingException {
+        ctx = MavenExecutionContextView.view(new InMemoryExecutionContext());
+        ctx.setAddLocalRepository(false);
+        ctx.setAddCentralRepository(false);
+        InMemoryMavenPomCache pomCache = new InMemoryMavenPomCache();
+        ctx.setPomCache(pomCache);
+
+        int libraries = hubs * librariesPerHub;
+        Map<Path, Pom> projectPoms = new HashMap<>();
+        StringBuilder rootDependencies = new StringBuilder();
+        for (int hub = 0; hub < hubs; hub++) {
+            rootDependencies.append(dependency("hub-" + hub, "1.0"));
+            StringBuilder hubDependencies = new StringBuilder(dependency("mid-" + hub, "1.0"));
+            StringBuilder midDependencies = new StringBuilder();
+            for (int i = 0; i < librariesPerHub; i++) {
+                hubDependencies.append(dependency("lib-" + (hub * librariesPerHub + i), "1.0"));
+                midDependencies.append(dependency("lib-" + ((hub + 1) * librariesPerHub + i) % libraries, "[1.1,2.0)"));
+            }
+            addPom(projectPoms, "hub-" + hub, "1.0", hubDependencies);
+            addPom(projectPoms, "mid-" + hub, "1.0", midDependencies);
+        }
+        for (int library = 0; library < libraries; library++) {
+            addPom(projectPoms, "lib-" + library, "1.0", "");
+            addPom(projectPoms, "lib-" + library, "1.1", "");
+            pomCache.putMavenMetadata(URI.create(REPOSITORY), new GroupArtifactVersion(GROUP, "lib-" + library, null),
+                    new MavenMetadata(new MavenMetadata.Versioning(Arrays.asList("1.0", "1.1"), null, null)));
+        }
+
+        downloader = new MavenPomDownloader(projectPoms, ctx);
+        root = pom("root", "1.0", rootDependencies, Paths.get("pom.xml")).resolve(emptyList(), downloader, ctx);
+    }
+
+    @Benchmark
+    public List<ResolvedDependency> resolveDependencies() throws MavenDownloadingExceptions {
+        return root.resolveDependencies(org.openrewrite.maven.tree.Scope.Compile, downloader, ctx);
+    }
+
+    private static void addPom(Map<Path, Pom> projectPoms, String artifactId, String version, CharSequence dependencies) {
+        Path path = Paths.get(artifactId, version, "pom.xml");
+        projectPoms.put(path, pom(artifactId, version, dependencies, path));
+    }
+
+    private static Pom pom(String artifactId, String version, CharSequence dependencies, Path path) {
+        String pom = "<project>" +
+                     "<groupId>" + GROUP + "</groupId>" +
+                     "<artifactId>" + artifactId + "</artifactId>" +
+                     "<version>" + version + "</version>" +
+                     "<repositories><repository><id>synthetic</id><url>" + REPOSITORY + "</url></repository></repositories>" +
+                     "<dependencies>" + dependencies + "</dependencies>" +
+                     "</project>";
+        return RawPom.parse(new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8)), null)
+                .toPom(path, null);
+    }
+
+    private static String dependency(String artifactId, String version) {
+        return "<dependency>" +
+               "<groupId>" + GROUP + "</groupId>" +
+               "<artifactId>" + artifactId + "</artifactId>" +
+               "<version>" + version + "</version>" +
+               "</dependency>";
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.scheduling;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a deep tree of recipes that make no changes, so that the measured time and
+ * allocation is that of scheduling every recipe on every source file. Run with the
+ * GC profiler to see the allocation per recipe run.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RecipeStackBenchmark {
+
+    @Param({"2", "4"})
+    int depth;
+
+    Recipe recipe;
+    List<SourceFile> sourceFiles;
+
+    @Setup
+    public void setup() {
+        recipe = new NestedRecipe(depth, 4);
+        sourceFiles = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            sourceFiles.add(PlainText.builder()
+                    .sourcePath(Paths.get("file" + i + ".txt"))
+                    .text("text")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public RecipeRun run() {
+        return recipe.run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext(), 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RecipeStackBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+
+    static class NestedRecipe extends Recipe {
+        private final List<Recipe> recipeList = new ArrayList<>();
+
+        NestedRecipe(int depth, int breadth) {
+            if (depth > 0) {
+                for (int i = 0; i < breadth; i++) {
+                    recipeList.add(new NestedRecipe(depth - 1, breadth));
+                }
+            }
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Nested recipe";
+        }
+
+        @Override
+        public String getDescription() {
+            return "A recipe that does nothing but contain other recipes.";
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+    }
+}
@@ -271,18 +271,31 @@ public void putMessageOnFirstEnclosing(Class<?> enclosing, String key, Object va
     }
 
     public void putMessage(String key, Object value) {
-        if (messages == null) {
-            messages = new HashMap<>();
-        }
-        messages.put(key, value);
+        messages().put(key, value);
     }
 
     public <T> T computeMessageIfAbsent(String key, Function<String, ? extends T> mappingFunction) {
-        if (messages == null) {
-            messages = new HashMap<>();
-        }
         //noinspection unchecked
-        return (T) messages.computeIfAbsent(key, mappingFunction);
+        return (T) messages().computeIfAbsent(key, mappingFunction);
+    }
+
+    private Map<String, Object> messages() {
+        Map<String, Object> m = messages;
+        if (m == null) {
+            if (parent == null) {
+                // the root cursor is shared by all visitors of a recipe run, which may be
+                // editing source files in parallel
+                synchronized (this) {
+                    if (messages == null) {
+                        messages = Collections.synchronizedMap(new HashMap<>());
+                    }
+                    m = messages;
+                }
+            } else {
+                m = messages = new HashMap<>();
+            }
+        }
+        return m;
     }
 
     /**
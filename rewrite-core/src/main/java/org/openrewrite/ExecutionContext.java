@@ -22,6 +22,7 @@
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
@@ -37,6 +38,21 @@ public interface ExecutionContext {
     String RUN_TIMEOUT = "org.openrewrite.runTimeout";
     String REQUIRE_PRINT_EQUALS_INPUT = "org.openrewrite.requirePrintEqualsInput";
 
+    /**
+     * When true, the recipe performance data table also measures the visit methods called
+     * and the bytes allocated by each recipe.
+     */
+    @Incubating(since = "8.19.0")
+    String PROFILE_RECIPES = "org.openrewrite.profileRecipes";
+
+    /**
+     * A {@link java.time.Duration} that any one recipe may spend scanning or editing any one source file.
+     * Tree visitors check it as they visit, so that a recipe that runs out of time gives up on just
+     * that source file, which is left as it was and recorded as an error.
+     */
+    @Incubating(since = "8.19.0")
+    String SOURCE_FILE_TIMEOUT = "org.openrewrite.sourceFileTimeout";
+
     @Incubating(since = "7.20.0")
     default ExecutionContext addObserver(TreeObserver.Subscription observer) {
         putMessageInCollection("org.openrewrite.internal.treeObservers", observer,
@@ -63,6 +79,20 @@ default <V, T> T computeMessage(String key, V value, Supplier<T> defaultValue, B
         return newMessage;
     }
 
+    /**
+     * @return The message under the key, after putting the result of the mapping function under it if there
+     * was none. Implementations that may be used from several threads at once put the message atomically.
+     */
+    @Incubating(since = "8.19.0")
+    default <T> T computeMessageIfAbsent(String key, Function<String, ? extends T> mappingFunction) {
+        T message = getMessage(key);
+        if (message == null) {
+            message = mappingFunction.apply(key);
+            putMessage(key, message);
+        }
+        return message;
+    }
+
     default <V, C extends Collection<V>> C putMessageInCollection(String key, V value, Supplier<C> newCollection) {
         return computeMessage(key, value, newCollection, (v, acc) -> {
             C c = newCollection.get();
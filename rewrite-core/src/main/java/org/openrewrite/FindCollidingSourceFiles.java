@@ -28,7 +28,8 @@
 
 @Value
 @EqualsAndHashCode(callSuper = false)
-public class FindCollidingSourceFiles extends ScanningRecipe<FindCollidingSourceFiles.Accumulator> {
+public class FindCollidingSourceFiles extends ScanningRecipe<FindCollidingSourceFiles.Accumulator>
+        implements ParallelScanningRecipe<FindCollidingSourceFiles.Accumulator> {
 
     transient CollidingSourceFiles collidingSourceFiles = new CollidingSourceFiles(this);
 
@@ -64,6 +65,16 @@ public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
         };
     }
 
+    @Override
+    public void merge(Accumulator acc, Accumulator partial) {
+        for (Path p : partial.getSourcePaths()) {
+            if (!acc.getSourcePaths().add(p)) {
+                acc.getDuplicates().add(p);
+            }
+        }
+        acc.getDuplicates().addAll(partial.getDuplicates());
+    }
+
     @Override
     public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
         acc.getSourcePaths().clear(); // we don't need this anymore, might as well free the memory sooner
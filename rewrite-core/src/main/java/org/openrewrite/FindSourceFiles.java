@@ -47,6 +47,11 @@ public String getDescription() {
         return "Find files by source path.";
     }
 
+    @Override
+    public boolean revisitsUnchangedSourceFiles() {
+        return false;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return new TreeVisitor<Tree, ExecutionContext>() {
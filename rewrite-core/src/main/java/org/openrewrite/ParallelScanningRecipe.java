@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+/**
+ * Implemented by a {@link ScanningRecipe} to scan source files in parallel when the recipe run supplies a
+ * {@link org.openrewrite.scheduling.ParallelExecutionContextView#setScanExecutor(java.util.concurrent.ExecutorService) scan executor}.
+ * Source files are then scanned concurrently into partial accumulators supplied by
+ * {@link ScanningRecipe#getInitialValue(ExecutionContext)}, no one of which is used by two source files
+ * at the same time, and the partial accumulators are combined by {@link #merge(Object, Object)} once all
+ * source files have been scanned.
+ *
+ * @param <T> The type of the accumulator of the scanning recipe.
+ */
+@Incubating(since = "8.19.0")
+public interface ParallelScanningRecipe<T> {
+
+    /**
+     * Combine the scanning data of a partial accumulator into the accumulator that is subsequently
+     * passed to {@link ScanningRecipe#generate(Object, java.util.Collection, ExecutionContext)} and
+     * {@link ScanningRecipe#getVisitor(Object)}. Partial accumulators are merged in no particular order.
+     *
+     * @param acc     The accumulator to merge into.
+     * @param partial The scanning data collected into one partial accumulator.
+     */
+    void merge(T acc, T partial);
+}
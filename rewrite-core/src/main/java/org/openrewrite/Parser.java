@@ -18,6 +18,7 @@
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.openrewrite.internal.EncodingDetectingInputStream;
+import org.openrewrite.internal.FileBytesSource;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.tree.ParseError;
@@ -26,7 +27,6 @@
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -41,30 +41,29 @@
 public interface Parser {
     @Incubating(since = "8.2.0")
     default SourceFile requirePrintEqualsInput(SourceFile sourceFile, Parser.Input input, @Nullable Path relativeTo, ExecutionContext ctx) {
-        if (ctx.getMessage(ExecutionContext.REQUIRE_PRINT_EQUALS_INPUT, true) &&
-            !sourceFile.printEqualsInput(input, ctx)) {
-            String diff = Result.diff(input.getSource(ctx).readFully(), sourceFile.printAll(), input.getPath());
-            return ParseError.build(
-                    this,
-                    input,
-                    relativeTo,
-                    ctx,
-                    new IllegalStateException(sourceFile.getSourcePath() + " is not print idempotent. \n" + diff)
-            ).withErroneous(sourceFile);
-        }
-        return sourceFile;
+        try {
+            if (ctx.getMessage(ExecutionContext.REQUIRE_PRINT_EQUALS_INPUT, true) &&
+                ParsingExecutionContextView.view(ctx).isPrintEqualsInputSampled(input.getPath()) &&
+                !sourceFile.printEqualsInput(input, ctx)) {
+                String diff = Result.diff(input.getSource(ctx).readFully(), sourceFile.printAll(), input.getPath());
+                return ParseError.build(
+                        this,
+                        input,
+                        relativeTo,
+                        ctx,
+                        new IllegalStateException(sourceFile.getSourcePath() + " is not print idempotent. \n" + diff)
+                ).withErroneous(sourceFile);
+            }
+            return sourceFile;
+        } finally {
+            input.releaseSource();
+        }
     }
 
     default Stream<SourceFile> parse(Iterable<Path> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
         return parseInputs(StreamSupport
                         .stream(sourceFiles.spliterator(), false)
-                        .map(sourceFile -> new Input(sourceFile, () -> {
-                            try {
-                                return new BufferedInputStream(Files.newInputStream(sourceFile));
-                            } catch (IOException e) {
-                                throw new UncheckedIOException(e);
-                            }
-                        }))
+                        .map(Input::fromFile)
                         .collect(toList()),
                 relativeTo,
                 ctx
@@ -161,6 +160,15 @@ public Input(Path path, @Nullable FileAttributes fileAttributes, Supplier<InputS
             this.synthetic = synthetic;
         }
 
+        /**
+         * An input that reads the file once while it is parsed and checked to print back to its input,
+         * until its source is {@link #releaseSource() released}.
+         */
+        @Incubating(since = "8.19.0")
+        public static Input fromFile(Path path) {
+            return new Input(path, FileAttributes.fromPath(path), new FileBytesSource(path), false);
+        }
+
         public static Input fromString(String source) {
             return fromString(source, StandardCharsets.UTF_8);
         }
@@ -210,6 +218,17 @@ public EncodingDetectingInputStream getSource(ExecutionContext ctx) {
             return new EncodingDetectingInputStream(source.get(), ParsingExecutionContextView.view(ctx).getCharset());
         }
 
+        /**
+         * Let go of the source held in memory, once the source file has been parsed and checked to print
+         * back to its input. Opening the source again reads it again.
+         */
+        @Incubating(since = "8.19.0")
+        public void releaseSource() {
+            if (source instanceof FileBytesSource) {
+                ((FileBytesSource) source).release();
+            }
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -153,6 +153,14 @@ public Check(TreeVisitor<?, ExecutionContext> check, TreeVisitor<?, ExecutionCon
             this.v = v;
         }
 
+        /**
+         * @return The visitor that is run on source files that satisfy the precondition.
+         */
+        @Incubating(since = "8.19.0")
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return v;
+        }
+
         @Override
         public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
             return check.isAcceptable(sourceFile, ctx) && v.isAcceptable(sourceFile, ctx);
@@ -300,6 +300,19 @@ public boolean causesAnotherCycle() {
         return false;
     }
 
+    /**
+     * @return Determines if this recipe visits every source file on each cycle after the first, which it does by default.
+     * A recipe whose edits depend only on the source file it is visiting, and not on other source files, {@link ExecutionContext}
+     * messages, the cycle number or an accumulator collected from the whole source set, may return false. It is then only
+     * offered the source files that were changed or generated in the previous cycle, since it will not change a source file
+     * that it didn't change in the previous cycle. When any recipe adds messages to the execution context in a cycle,
+     * every source file is offered to every recipe in the next cycle.
+     */
+    @Incubating(since = "8.19.0")
+    public boolean revisitsUnchangedSourceFiles() {
+        return true;
+    }
+
     /**
      * A list of recipes that run, source file by source file,
      * after this recipe. This method is guaranteed to be called only once
@@ -18,12 +18,15 @@
 import org.openrewrite.scheduling.RecipeRunCycle;
 import org.openrewrite.scheduling.WatchableExecutionContext;
 import org.openrewrite.table.RecipeRunStats;
+import org.openrewrite.table.SourcesFileCosts;
 import org.openrewrite.table.SourcesFileErrors;
 import org.openrewrite.table.SourcesFileResults;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyMap;
@@ -54,12 +57,17 @@ public RecipeRun scheduleRun(Recipe recipe,
     private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet, ExecutionContext ctx, int maxCycles, int minCycles) {
         WatchableExecutionContext ctxWithWatch = new WatchableExecutionContext(ctx);
 
-        RecipeRunStats recipeRunStats = new RecipeRunStats(Recipe.noop());
+        SourcesFileCosts sourcesFileCosts = new SourcesFileCosts(Recipe.noop());
+        RecipeRunStats recipeRunStats = new RecipeRunStats(Recipe.noop(), ctx.getMessage(ExecutionContext.PROFILE_RECIPES, false), sourcesFileCosts);
         SourcesFileErrors errorsTable = new SourcesFileErrors(Recipe.noop());
         SourcesFileResults sourceFileResults = new SourcesFileResults(Recipe.noop());
 
         LargeSourceSet after = sourceSet;
 
+        // after the first cycle, source files that no recipe changed in the previous cycle
+        // are only edited by recipes that revisit unchanged source files
+        Set<UUID> sourceFilesToRevisit = null;
+
         for (int i = 1; i <= maxCycles; i++) {
             if (ctx.getMessage(PANIC) != null) {
                 break;
@@ -72,6 +80,7 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
             try {
                 RecipeRunCycle<LargeSourceSet> cycle = new RecipeRunCycle<>(recipe, i, rootCursor, ctxWithWatch,
                         recipeRunStats, sourceFileResults, errorsTable, LargeSourceSet::edit);
+                cycle.setSourceFilesToRevisit(sourceFilesToRevisit);
                 ctxWithWatch.putCycle(cycle);
                 after.beforeCycle(i == maxCycles);
 
@@ -84,6 +93,7 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
                 // transformation phases
                 after = cycle.generateSources(after);
                 after = cycle.editSources(after);
+                sourceFilesToRevisit = cycle.getSourceFilesToRevisitInNextCycle();
 
                 boolean anyRecipeCausingAnotherCycle = false;
                 for (Recipe madeChanges : cycle.getMadeChangesInThisCycle()) {
@@ -112,6 +122,7 @@ private LargeSourceSet runRecipeCycles(Recipe recipe, LargeSourceSet sourceSet,
         }
 
         recipeRunStats.flush(ctx);
+        sourcesFileCosts.flush(ctx);
         return after;
     }
 
@@ -19,7 +19,11 @@ public class RecipeTimeoutException extends RuntimeException {
     private final Recipe recipe;
 
     public RecipeTimeoutException(Recipe recipe) {
-        super("Recipe " + recipe.getName() + " timed out.");
+        this(recipe, "Recipe " + recipe.getName() + " timed out.");
+    }
+
+    protected RecipeTimeoutException(Recipe recipe, String message) {
+        super(message);
         this.recipe = recipe;
     }
 
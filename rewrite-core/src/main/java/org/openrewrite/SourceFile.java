@@ -15,6 +15,7 @@
  */
 package org.openrewrite;
 
+import org.openrewrite.internal.PrintEqualsInputCapture;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.style.NamedStyles;
@@ -36,12 +37,15 @@ public interface SourceFile extends Tree {
      * @return <code>true</code> if the parse-to-print loop is idempotent, <code>false</code> otherwise.
      */
     default boolean printEqualsInput(Parser.Input input, ExecutionContext ctx) {
-        String printed = printAll();
         Charset charset = getCharset();
-        if (charset != null) {
-            return printed.equals(StringUtils.readFully(input.getSource(ctx), charset));
-        }
-        return printed.equals(StringUtils.readFully(input.getSource(ctx)));
+        String source = charset != null ?
+                StringUtils.readFully(input.getSource(ctx), charset) :
+                StringUtils.readFully(input.getSource(ctx));
+        PrintEqualsInputCapture<Integer> out = new PrintEqualsInputCapture<>(0, source);
+        // visit with the printer directly, since printAll would copy the printed output back out of the capture
+        Cursor cursor = new Cursor(null, "root");
+        this.<Integer>printer(cursor).visit(this, out, cursor);
+        return out.isEqual();
     }
 
     /**
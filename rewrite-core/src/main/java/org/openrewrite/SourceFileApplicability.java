@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+/**
+ * Implemented by precondition visitors whose outcome can be decided from the source file alone,
+ * without visiting it or having side effects. When a recipe's visitor is a {@link Preconditions#check(TreeVisitor, TreeVisitor)}
+ * whose precondition implements this interface, the recipe scheduler decides whether the precondition
+ * is satisfied with {@link #isApplicable(SourceFile)} in place of visiting the source file with the
+ * precondition visitor, and evaluates each distinct precondition at most once per version of a source
+ * file no matter how many recipes share it.
+ */
+@Incubating(since = "8.19.0")
+public interface SourceFileApplicability {
+
+    /**
+     * @return A key that is equal for any two preconditions that select exactly the same source files.
+     */
+    String getApplicabilityKey();
+
+    /**
+     * @param sourceFile The source file that a recipe may be run on.
+     * @return {@code true} exactly when the precondition visitor would change this source file.
+     */
+    boolean isApplicable(SourceFile sourceFile);
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Thrown from within {@link TreeVisitor#visit(Tree, Object)} when a recipe exceeds its
+ * {@link ExecutionContext#SOURCE_FILE_TIMEOUT time budget} for a single source file.
+ */
+@Incubating(since = "8.19.0")
+public class SourceFileTimeoutException extends RecipeTimeoutException {
+    private final Path sourcePath;
+
+    public SourceFileTimeoutException(Recipe recipe, Path sourcePath, Duration timeout) {
+        super(recipe, "Recipe " + recipe.getName() + " timed out after " + timeout + " on " + sourcePath + ".");
+        this.sourcePath = sourcePath;
+    }
+
+    public Path getSourcePath() {
+        return sourcePath;
+    }
+}
@@ -21,6 +21,8 @@
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.RecipeRunException;
 import org.openrewrite.internal.TreeVisitorAdapter;
+import org.openrewrite.internal.VisitDeadline;
+import org.openrewrite.internal.VisitMethodCounter;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Marker;
 import org.openrewrite.marker.Markers;
@@ -72,7 +74,34 @@ public static <T extends Tree, P> TreeVisitor<T, P> noop() {
     private List<TreeVisitor<?, P>> afterVisit;
 
     private int visitCount;
-    private final DistributionSummary visitCountSummary = DistributionSummary.builder("rewrite.visitor.visit.method.count").description("Visit methods called per source file visited.").tag("visitor.class", getClass().getName()).register(Metrics.globalRegistry);
+
+    /**
+     * The deadline of the recipe visiting a source file is checked on the top-level visit
+     * and every 1024 visits thereafter.
+     */
+    private static final int DEADLINE_CHECK_INTERVAL_MASK = 1023;
+
+    /**
+     * Meters are registered once per visitor class rather than on every top-level visit.
+     */
+    private static final ClassValue<VisitorMeters> meters = new ClassValue<VisitorMeters>() {
+        @Override
+        protected VisitorMeters computeValue(Class<?> type) {
+            return new VisitorMeters(type);
+        }
+    };
+
+    private static class VisitorMeters {
+        private final Timer visit;
+        private final Timer visitCumulative;
+        private final DistributionSummary visitCount;
+
+        private VisitorMeters(Class<?> visitorClass) {
+            this.visit = Timer.builder("rewrite.visitor.visit").tag("visitor.class", visitorClass.getName()).register(Metrics.globalRegistry);
+            this.visitCumulative = Timer.builder("rewrite.visitor.visit.cumulative").tag("visitor.class", visitorClass.getName()).register(Metrics.globalRegistry);
+            this.visitCount = DistributionSummary.builder("rewrite.visitor.visit.method.count").description("Visit methods called per source file visited.").tag("visitor.class", visitorClass.getName()).register(Metrics.globalRegistry);
+        }
+    }
 
     public boolean isAcceptable(SourceFile sourceFile, P p) {
         return true;
@@ -234,7 +263,10 @@ public T visit(@Nullable Tree tree, P p) {
             sample = Timer.start();
         }
 
-        visitCount++;
+        if ((visitCount++ & DEADLINE_CHECK_INTERVAL_MASK) == 0) {
+            // cooperatively give up on a source file once the recipe has run out of time for it
+            VisitDeadline.check();
+        }
         setCursor(new Cursor(cursor, tree));
 
         T t = null;
@@ -266,8 +298,10 @@ public T visit(@Nullable Tree tree, P p) {
             setCursor(cursor.getParent());
 
             if (topLevel) {
-                sample.stop(Timer.builder("rewrite.visitor.visit").tag("visitor.class", getClass().getName()).register(Metrics.globalRegistry));
-                visitCountSummary.record(visitCount);
+                VisitorMeters visitorMeters = meters.get(getClass());
+                sample.stop(visitorMeters.visit);
+                visitorMeters.visitCount.record(visitCount);
+                VisitMethodCounter.record(visitCount);
 
                 if (t != null && afterVisit != null) {
                     for (TreeVisitor<?, P> v : afterVisit) {
@@ -279,7 +313,7 @@ public T visit(@Nullable Tree tree, P p) {
                     }
                 }
 
-                sample.stop(Timer.builder("rewrite.visitor.visit.cumulative").tag("visitor.class", getClass().getName()).register(Metrics.globalRegistry));
+                sample.stop(visitorMeters.visitCumulative);
                 afterVisit = null;
                 visitCount = 0;
             }
@@ -75,6 +75,11 @@ public <P> String printAll(P p) {
         throw new UnsupportedOperationException("Cannot print a binary as a string.");
     }
 
+    @Override
+    public <P> String printAll(PrintOutputCapture<P> out) {
+        throw new UnsupportedOperationException("Cannot print a binary as a string.");
+    }
+
     @Override
     public <P> String printAllTrimmed(P p) {
         throw new UnsupportedOperationException("Cannot print a binary as a string.");
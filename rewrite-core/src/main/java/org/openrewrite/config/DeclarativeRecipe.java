@@ -143,9 +143,21 @@ public String getDescription() {
 
         Supplier<TreeVisitor<?, ExecutionContext>> precondition;
 
+        /**
+         * Whether the outcome of the precondition for a source file may change when the source
+         * file itself has not, in which case every decorated recipe revisits unchanged source files.
+         */
+        boolean preconditionRevisitsUnchangedSourceFiles;
+
         @NonFinal
         transient boolean preconditionApplicable;
 
+        @Override
+        public boolean revisitsUnchangedSourceFiles() {
+            // the recipes it decorates read the outcome for the source file they are visiting
+            return true;
+        }
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             return new TreeVisitor<Tree, ExecutionContext>() {
@@ -192,6 +204,11 @@ public TreeVisitor<?, ExecutionContext> getVisitor() {
             return Preconditions.check(bellwether.isPreconditionApplicable(), delegate.getVisitor());
         }
 
+        @Override
+        public boolean revisitsUnchangedSourceFiles() {
+            return bellwether.isPreconditionRevisitsUnchangedSourceFiles() || delegate.revisitsUnchangedSourceFiles();
+        }
+
         @Override
         public List<Recipe> getRecipeList() {
             return decorateWithPreconditionBellwether(bellwether, delegate.getRecipeList());
@@ -240,6 +257,11 @@ public TreeVisitor<?, ExecutionContext> getVisitor(T acc) {
             return Preconditions.check(bellwether.isPreconditionApplicable(), delegate.getVisitor(acc));
         }
 
+        @Override
+        public boolean revisitsUnchangedSourceFiles() {
+            return bellwether.isPreconditionRevisitsUnchangedSourceFiles() || delegate.revisitsUnchangedSourceFiles();
+        }
+
         @Override
         public List<Recipe> getRecipeList() {
             return decorateWithPreconditionBellwether(bellwether, delegate.getRecipeList());
@@ -253,6 +275,7 @@ public final List<Recipe> getRecipeList() {
         }
 
         List<Supplier<TreeVisitor<?, ExecutionContext>>> andPreconditions = new ArrayList<>();
+        boolean preconditionRevisitsUnchangedSourceFiles = false;
         for (Recipe precondition : preconditions) {
             if (isScanningRecipe(precondition)) {
                 throw new IllegalArgumentException(
@@ -260,8 +283,10 @@ public final List<Recipe> getRecipeList() {
                         "ScanningRecipe cannot be used as Preconditions.");
             }
             andPreconditions.add(precondition::getVisitor);
+            preconditionRevisitsUnchangedSourceFiles |= precondition.revisitsUnchangedSourceFiles();
         }
-        PreconditionBellwether bellwether = new PreconditionBellwether(Preconditions.and(andPreconditions.toArray(new Supplier[]{})));
+        PreconditionBellwether bellwether = new PreconditionBellwether(Preconditions.and(andPreconditions.toArray(new Supplier[]{})),
+                preconditionRevisitsUnchangedSourceFiles);
         List<Recipe> recipeListWithBellwether = new ArrayList<>(recipeList.size() + 1);
         recipeListWithBellwether.add(bellwether);
         recipeListWithBellwether.addAll(decorateWithPreconditionBellwether(bellwether, recipeList));
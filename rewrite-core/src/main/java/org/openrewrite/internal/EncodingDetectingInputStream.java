@@ -17,11 +17,11 @@
 
 import org.openrewrite.internal.lang.Nullable;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 public class EncodingDetectingInputStream extends InputStream {
     private static final Charset WINDOWS_1252 = Charset.forName("Windows-1252");
@@ -73,6 +73,57 @@ public int read() throws IOException {
         return aByte;
     }
 
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = inputStream.read(b, off, len);
+        if (charset == null) {
+            if (n == -1) {
+                guessCharset(-1);
+            } else {
+                guessCharset(b, off, n);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Equivalent to guessing the charset from each byte in turn, but skipping over runs of ASCII
+     * bytes, which cannot change the guess unless they follow the start of a multibyte sequence.
+     */
+    private void guessCharset(byte[] b, int off, int len) {
+        int end = off + len;
+        int i = off;
+        while (i < end && charset == null) {
+            if (!maybeTwoByteSequence && !maybeThreeByteSequence && !maybeFourByteSequence &&
+                prev < 0x80 && prev2 < 0x80 && prev3 < 0x80) {
+                int asciiEnd = asciiRunEnd(b, i, end);
+                if (asciiEnd - i >= 3) {
+                    prev3 = b[asciiEnd - 3];
+                    prev2 = b[asciiEnd - 2];
+                    prev = b[asciiEnd - 1];
+                    i = asciiEnd;
+                    continue;
+                }
+            }
+            guessCharset(b[i++] & 0xFF);
+        }
+    }
+
+    /**
+     * @return The index of the first byte from {@code from} that is not ASCII, testing eight bytes at a time.
+     */
+    private static int asciiRunEnd(byte[] b, int from, int to) {
+        int i = from;
+        while (i + 8 <= to && ((b[i] | b[i + 1] | b[i + 2] | b[i + 3] |
+                                b[i + 4] | b[i + 5] | b[i + 6] | b[i + 7]) & 0x80) == 0) {
+            i += 8;
+        }
+        while (i < to && b[i] >= 0) {
+            i++;
+        }
+        return i;
+    }
+
     private void guessCharset(int aByte) {
         if (prev3 == 0xEF && prev2 == 0xBB && prev == 0xBF) {
             charsetBomMarked = true;
@@ -135,19 +186,31 @@ private void guessCharset(int aByte) {
 
     public String readFully() {
         try (InputStream is = this) {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream() {
-                @Override
-                public synchronized String toString() {
-                    return new String(buf, 0, count, getCharset());
+            byte[] buffer;
+            int count;
+            if (inputStream instanceof SharedBytesInputStream) {
+                buffer = ((SharedBytesInputStream) inputStream).readRemaining();
+                count = buffer.length;
+            } else {
+                buffer = new byte[8192];
+                count = 0;
+                int n;
+                while ((n = inputStream.read(buffer, count, buffer.length - count)) != -1) {
+                    count += n;
+                    if (count == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
                 }
-            };
-            byte[] buffer = new byte[4096];
-            int n;
-            while ((n = is.read(buffer)) != -1) {
-                bos.write(buffer, 0, n);
             }
 
-            return bos.toString();
+            // guess the charset from all bytes at once, then decode them in one pass
+            if (charset == null) {
+                guessCharset(buffer, 0, count);
+                if (charset == null) {
+                    guessCharset(-1);
+                }
+            }
+            return new String(buffer, 0, count, getCharset());
         } catch (IOException e) {
             throw new UnsupportedOperationException(e);
         }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Reads a file once and serves every stream opened on it from the same bytes, so that parsing a source file
+ * and checking that it prints back to its input read the file from disk once. The bytes are held until they
+ * are {@link #release() released}, after which every stream opened reads the file again.
+ */
+public class FileBytesSource implements Supplier<InputStream> {
+    private final Path path;
+
+    @Nullable
+    private volatile byte[] bytes;
+
+    private volatile boolean released;
+
+    public FileBytesSource(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public InputStream get() {
+        byte[] read = bytes;
+        if (read == null) {
+            try {
+                read = Files.readAllBytes(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!released) {
+                bytes = read;
+            }
+        }
+        return new SharedBytesInputStream(read);
+    }
+
+    public void release() {
+        released = true;
+        bytes = null;
+    }
+}
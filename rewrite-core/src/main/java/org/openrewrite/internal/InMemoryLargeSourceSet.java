@@ -39,8 +39,38 @@ public class InMemoryLargeSourceSet implements LargeSourceSet {
 
     private List<Recipe> currentRecipeStack;
 
+    /**
+     * Positions of the initial source files by ID. Only present on the initial state.
+     */
+    @Nullable
+    private Map<UUID, Integer> initialPositions;
+
+    /**
+     * The first initial source file at each path. Only present on the initial state.
+     */
+    @Nullable
+    private Map<Path, SourceFile> initialByPath;
+
+    /**
+     * When this source set was derived from its initial state by {@link #edit(UnaryOperator)} and
+     * {@link #generate(Collection)}, the changes are tracked as they are made so that producing a changeset
+     * doesn't require comparing the whole source set to its initial state.
+     */
+    private boolean tracked;
+
+    /**
+     * Initial source files that are now a different instance, keyed by their initial position.
+     */
+    private Map<Integer, SourceFile> edited = Collections.emptyMap();
+
+    /**
+     * Source files that are not part of the initial state, keyed by ID.
+     */
+    private Map<UUID, SourceFile> generated = Collections.emptyMap();
+
     public InMemoryLargeSourceSet(List<SourceFile> ls) {
         this(null, null, ls);
+        this.tracked = true;
     }
 
     protected InMemoryLargeSourceSet(@Nullable InMemoryLargeSourceSet initialState,
@@ -62,6 +92,7 @@ public void setRecipe(List<Recipe> recipeStack) {
 
     @Override
     public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
+        TrackedChanges changes = new TrackedChanges();
         List<SourceFile> mapped = ListUtils.map(ls, before -> {
             SourceFile after = map.apply(before);
             if (after == null) {
@@ -70,9 +101,12 @@ public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
                 }
                 deletions.put(before, currentRecipeStack);
             }
+            if (after != before && tracked) {
+                changes.track(before, after);
+            }
             return after;
         });
-        return mapped != ls ? withChanges(deletions, mapped) : this;
+        return mapped != ls ? tracked(withChanges(deletions, mapped), changes) : this;
     }
 
     @Override
@@ -80,14 +114,80 @@ public LargeSourceSet generate(@Nullable Collection<? extends SourceFile> t) {
         if (t == null || t.isEmpty()) {
             //noinspection ConstantConditions
             return this;
-        } else if (ls.isEmpty()) {
+        }
+
+        TrackedChanges changes = new TrackedChanges();
+        if (tracked) {
+            for (SourceFile s : t) {
+                changes.track(null, s);
+            }
+        }
+
+        if (ls.isEmpty()) {
             //noinspection unchecked
-            return withChanges(deletions, (List<SourceFile>) t);
+            return tracked(withChanges(deletions, (List<SourceFile>) t), changes);
         }
 
         List<SourceFile> newLs = new ArrayList<>(ls);
         newLs.addAll(t);
-        return withChanges(deletions, newLs);
+        return tracked(withChanges(deletions, newLs), changes);
+    }
+
+    /**
+     * The edited and generated source files of a source set derived from this one, which are only copied
+     * from this source set's once a change is tracked.
+     */
+    private class TrackedChanges {
+        Map<Integer, SourceFile> edited = InMemoryLargeSourceSet.this.edited;
+        Map<UUID, SourceFile> generated = InMemoryLargeSourceSet.this.generated;
+
+        void track(@Nullable SourceFile before, @Nullable SourceFile after) {
+            if (edited == InMemoryLargeSourceSet.this.edited) {
+                edited = new TreeMap<>(edited);
+                generated = new LinkedHashMap<>(generated);
+            }
+            Map<UUID, Integer> initialPositions = getInitialPositions();
+            if (before != null && (after == null || !after.getId().equals(before.getId()))) {
+                Integer position = initialPositions.get(before.getId());
+                if (position != null) {
+                    edited.remove(position);
+                } else {
+                    generated.remove(before.getId());
+                }
+            }
+            if (after != null) {
+                Integer position = initialPositions.get(after.getId());
+                if (position == null) {
+                    generated.put(after.getId(), after);
+                } else if (getInitialState().ls.get(position) == after) {
+                    edited.remove(position);
+                } else {
+                    edited.put(position, after);
+                }
+            }
+        }
+    }
+
+    private InMemoryLargeSourceSet tracked(InMemoryLargeSourceSet sourceSet, TrackedChanges changes) {
+        if (tracked) {
+            sourceSet.tracked = true;
+            sourceSet.edited = changes.edited;
+            sourceSet.generated = changes.generated;
+        }
+        return sourceSet;
+    }
+
+    private Map<UUID, Integer> getInitialPositions() {
+        InMemoryLargeSourceSet initialState = getInitialState();
+        if (initialState.initialPositions == null) {
+            List<SourceFile> initialLs = initialState.ls;
+            Map<UUID, Integer> initialPositions = new HashMap<>((int) (initialLs.size() / 0.75f) + 1);
+            for (int i = 0; i < initialLs.size(); i++) {
+                initialPositions.put(initialLs.get(i).getId(), i);
+            }
+            initialState.initialPositions = initialPositions;
+        }
+        return initialState.initialPositions;
     }
 
     protected InMemoryLargeSourceSet getInitialState() {
@@ -96,6 +196,36 @@ protected InMemoryLargeSourceSet getInitialState() {
 
     @Override
     public Changeset getChangeset() {
+        if (!tracked) {
+            return getChangesetByComparingToInitialState();
+        }
+
+        List<SourceFile> initialLs = getInitialState().ls;
+        List<Result> changes = new ArrayList<>(edited.size() + generated.size() +
+                                               (deletions == null ? 0 : deletions.size()));
+
+        for (Map.Entry<Integer, SourceFile> edit : edited.entrySet()) {
+            SourceFile original = initialLs.get(edit.getKey());
+            if (!original.getMarkers().findFirst(Generated.class).isPresent()) {
+                changes.add(new Result(original, edit.getValue()));
+            }
+        }
+
+        for (SourceFile s : generated.values()) {
+            Collection<List<Recipe>> recipes = s.getMarkers().findFirst(RecipesThatMadeChanges.class).map(RecipesThatMadeChanges::getRecipes).orElse(Collections.emptyList());
+            changes.add(new Result(null, s, recipes));
+        }
+
+        if (deletions != null) {
+            for (Map.Entry<SourceFile, List<Recipe>> entry : deletions.entrySet()) {
+                changes.add(new Result(entry.getKey(), null, Collections.singleton(entry.getValue())));
+            }
+        }
+
+        return new InMemoryChangeset(changes);
+    }
+
+    private Changeset getChangesetByComparingToInitialState() {
         Map<UUID, SourceFile> sourceFileIdentities = new HashMap<>();
         for (SourceFile sourceFile : getInitialState().ls) {
             sourceFileIdentities.put(sourceFile.getId(), sourceFile);
@@ -131,13 +261,15 @@ public Changeset getChangeset() {
     @Nullable
     @Override
     public SourceFile getBefore(Path sourcePath) {
-        List<SourceFile> sourceFiles = getInitialState().ls;
-        for (SourceFile s : sourceFiles) {
-            if (s.getSourcePath().equals(sourcePath)) {
-                return s;
+        InMemoryLargeSourceSet initialState = getInitialState();
+        if (initialState.initialByPath == null) {
+            Map<Path, SourceFile> initialByPath = new HashMap<>();
+            for (SourceFile s : initialState.ls) {
+                initialByPath.putIfAbsent(s.getSourcePath(), s);
             }
+            initialState.initialByPath = initialByPath;
         }
-        return null;
+        return initialState.initialByPath.get(sourcePath);
     }
 
     @RequiredArgsConstructor
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.openrewrite.PrintOutputCapture;
+import org.openrewrite.internal.lang.Nullable;
+
+/**
+ * Compares printed output to the source it was parsed from as it is printed, rather than
+ * accumulating the whole output first. Once printed output differs from the source, the
+ * rest of the output is ignored.
+ */
+public class PrintEqualsInputCapture<P> extends PrintOutputCapture<P> {
+    private final String source;
+    private int position;
+    private boolean mismatched;
+
+    public PrintEqualsInputCapture(P p, String source) {
+        super(p);
+        this.source = source;
+    }
+
+    /**
+     * @return Whether everything printed so far matches the source in full.
+     */
+    public boolean isEqual() {
+        return !mismatched && position == source.length();
+    }
+
+    /**
+     * @return The index of the first character of the source that printed output differs from, or
+     * the length of the source when the printed output is a prefix of or equal to it.
+     */
+    public int getMismatchIndex() {
+        return position;
+    }
+
+    /**
+     * Since output that has been compared so far is equal to the source, it is not held separately.
+     */
+    @Override
+    public String getOut() {
+        return source.substring(0, position);
+    }
+
+    @Override
+    public PrintOutputCapture<P> append(@Nullable String text) {
+        if (text == null || text.isEmpty() || mismatched) {
+            return this;
+        }
+        if (source.regionMatches(position, text, 0, text.length())) {
+            position += text.length();
+        } else {
+            int end = Math.min(text.length(), source.length() - position);
+            int i = 0;
+            while (i < end && source.charAt(position + i) == text.charAt(i)) {
+                i++;
+            }
+            position += i;
+            mismatched = true;
+        }
+        return this;
+    }
+
+    @Override
+    public PrintOutputCapture<P> append(char c) {
+        if (mismatched) {
+            return this;
+        }
+        if (position < source.length() && source.charAt(position) == c) {
+            position++;
+        } else {
+            mismatched = true;
+        }
+        return this;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+/**
+ * An input stream over bytes that are shared with other streams over the same source, and so must not be modified.
+ * Readers that consume the whole stream anyway can take the remaining bytes without copying them.
+ */
+public class SharedBytesInputStream extends ByteArrayInputStream {
+
+    public SharedBytesInputStream(byte[] bytes) {
+        super(bytes);
+    }
+
+    /**
+     * Consume the rest of the stream.
+     *
+     * @return The unread bytes, which are not copied when nothing has been read yet.
+     */
+    public synchronized byte[] readRemaining() {
+        byte[] remaining = pos == 0 && count == buf.length ? buf : Arrays.copyOfRange(buf, pos, count);
+        pos = count;
+        return remaining;
+    }
+}
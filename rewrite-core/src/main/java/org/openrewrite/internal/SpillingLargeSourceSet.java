@@ -0,0 +1,377 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import lombok.RequiredArgsConstructor;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.marker.Generated;
+import org.openrewrite.marker.RecipesThatMadeChanges;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A large source set that serializes its initial source files to a file on disk, keeping only
+ * an index of the initial state and the source files that recipes have changed or generated on the heap.
+ * Unchanged source files are deserialized again each time the source set is iterated.
+ * <p>
+ * A source file that can't be read back from the store is reported to {@link ExecutionContext#getOnError()}
+ * once and is left out of every later iteration, as though no recipe had changed it.
+ * <p>
+ * Every source set derived from this one through {@link #edit(UnaryOperator)} and {@link #generate(Collection)}
+ * shares the same store, which is deleted when any of them is {@link #close() closed}.
+ */
+public class SpillingLargeSourceSet implements LargeSourceSet, AutoCloseable {
+    private final Store store;
+
+    /**
+     * Current versions of initial source files that have been changed, keyed by their position in the store.
+     */
+    private final Map<Integer, SourceFile> edited;
+
+    /**
+     * Initial source files that have been deleted, keyed by their position in the store.
+     */
+    private final Map<Integer, List<Recipe>> deletions;
+
+    private final List<SourceFile> generated;
+
+    private List<Recipe> currentRecipeStack;
+
+    /**
+     * @param sourceFiles The initial state, which is serialized to the store as it is iterated.
+     * @param directory   The directory in which to create the store.
+     * @param ctx         The context that source files which can't be read back from the store are reported to.
+     */
+    public SpillingLargeSourceSet(Iterable<? extends SourceFile> sourceFiles, Path directory, ExecutionContext ctx) {
+        this(new Store(directory, ctx.getOnError()), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList());
+        for (SourceFile sourceFile : sourceFiles) {
+            store.add(sourceFile);
+        }
+    }
+
+    private SpillingLargeSourceSet(Store store, Map<Integer, SourceFile> edited,
+                                   Map<Integer, List<Recipe>> deletions, List<SourceFile> generated) {
+        this.store = store;
+        this.edited = edited;
+        this.deletions = deletions;
+        this.generated = generated;
+    }
+
+    @Override
+    public void setRecipe(List<Recipe> recipeStack) {
+        this.currentRecipeStack = recipeStack;
+    }
+
+    @Override
+    public LargeSourceSet edit(UnaryOperator<SourceFile> map) {
+        Map<Integer, SourceFile> newEdited = edited;
+        Map<Integer, List<Recipe>> newDeletions = deletions;
+        for (int i = 0; i < store.size(); i++) {
+            if (deletions.containsKey(i)) {
+                continue;
+            }
+            SourceFile before = edited.get(i);
+            if (before == null) {
+                before = store.get(i);
+                if (before == null) {
+                    continue;
+                }
+            }
+            SourceFile after = map.apply(before);
+            if (after != before) {
+                if (newEdited == edited) {
+                    newEdited = new TreeMap<>(edited);
+                    newDeletions = new TreeMap<>(deletions);
+                }
+                if (after == null) {
+                    newEdited.remove(i);
+                    newDeletions.put(i, currentRecipeStack);
+                } else {
+                    newEdited.put(i, after);
+                }
+            }
+        }
+        List<SourceFile> newGenerated = ListUtils.map(generated, map);
+        if (newEdited == edited && newGenerated == generated) {
+            return this;
+        }
+        return new SpillingLargeSourceSet(store, newEdited, newDeletions, newGenerated);
+    }
+
+    @Override
+    public LargeSourceSet generate(@Nullable Collection<? extends SourceFile> ls) {
+        if (ls == null || ls.isEmpty()) {
+            return this;
+        }
+        return new SpillingLargeSourceSet(store, edited, deletions, ListUtils.concatAll(generated, new ArrayList<>(ls)));
+    }
+
+    /**
+     * The originals of changed source files are read back from the store only for the page of results
+     * that is asked for, so that paging through a large changeset doesn't hold every original on the heap.
+     */
+    @Override
+    public Changeset getChangeset() {
+        List<Map.Entry<Integer, SourceFile>> edits = new ArrayList<>(edited.size());
+        for (Map.Entry<Integer, SourceFile> edit : edited.entrySet()) {
+            if (!store.isGenerated(edit.getKey())) {
+                edits.add(edit);
+            }
+        }
+        return new SpillingChangeset(store, edits, generated, new ArrayList<>(deletions.entrySet()));
+    }
+
+    @Nullable
+    @Override
+    public SourceFile getBefore(Path sourcePath) {
+        Integer position = store.positionOf(sourcePath);
+        return position == null ? null : store.getOriginal(position);
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private static class Store implements AutoCloseable {
+        private static final ObjectMapper MAPPER = mapper();
+
+        private final Path file;
+        private final FileChannel channel;
+        private final Consumer<Throwable> onError;
+
+        private long[] offsets = new long[1024];
+        private int[] lengths = new int[1024];
+        private Path[] sourcePaths = new Path[1024];
+        private int size;
+
+        private final Map<Path, Integer> positionsByPath = new HashMap<>();
+
+        /**
+         * Positions of source files that were marked {@link Generated} when they were added.
+         */
+        private final BitSet generated = new BitSet();
+
+        /**
+         * Originals that were read back to look at them rather than to edit them, which are likely to be looked
+         * at again, held only as long as there is room for them on the heap.
+         */
+        private final Map<Integer, SoftReference<SourceFile>> originals = new ConcurrentHashMap<>();
+
+        /**
+         * Source files that could not be serialized are held on the heap instead.
+         */
+        private final Map<Integer, SourceFile> resident = new HashMap<>();
+
+        /**
+         * Positions of source files that failed to be read back, which are only reported once.
+         */
+        private final Set<Integer> unreadable = ConcurrentHashMap.newKeySet();
+
+        Store(Path directory, Consumer<Throwable> onError) {
+            this.onError = onError;
+            try {
+                this.file = Files.createTempFile(directory, "rewrite-lst", ".store");
+                this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(SourceFile sourceFile) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+                sourcePaths = Arrays.copyOf(sourcePaths, size * 2);
+            }
+            sourcePaths[size] = sourceFile.getSourcePath();
+            positionsByPath.putIfAbsent(sourceFile.getSourcePath(), size);
+            if (sourceFile.getMarkers().findFirst(Generated.class).isPresent()) {
+                generated.set(size);
+            }
+            try {
+                byte[] bytes = MAPPER.writeValueAsBytes(sourceFile);
+                long offset = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, offset + buffer.position());
+                }
+                offsets[size] = offset;
+                lengths[size] = bytes.length;
+            } catch (IOException e) {
+                resident.put(size, sourceFile);
+            }
+            size++;
+        }
+
+        @Nullable
+        SourceFile get(int position) {
+            SourceFile sourceFile = resident.get(position);
+            if (sourceFile != null) {
+                return sourceFile;
+            }
+            if (unreadable.contains(position)) {
+                return null;
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(lengths[position]);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offsets[position] + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of store " + file);
+                    }
+                }
+                return MAPPER.readValue(buffer.array(), SourceFile.class);
+            } catch (IOException | RuntimeException e) {
+                if (unreadable.add(position)) {
+                    onError.accept(new IOException("Failed to read " + sourcePaths[position] + " back from store " + file, e));
+                }
+                return null;
+            }
+        }
+
+        @Nullable
+        SourceFile getOriginal(int position) {
+            SoftReference<SourceFile> ref = originals.get(position);
+            SourceFile original = ref == null ? null : ref.get();
+            if (original == null) {
+                original = get(position);
+                if (original != null) {
+                    originals.put(position, new SoftReference<>(original));
+                }
+            }
+            return original;
+        }
+
+        boolean isGenerated(int position) {
+            return generated.get(position);
+        }
+
+        @Nullable
+        Integer positionOf(Path sourcePath) {
+            return positionsByPath.get(sourcePath);
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static ObjectMapper mapper() {
+            SmileFactory f = new SmileFactory();
+            f.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+
+            ObjectMapper m = JsonMapper.builder(f)
+                    .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                    .build()
+                    .registerModule(new ParameterNamesModule())
+                    // source paths are relative, which Jackson's default URI representation of a path does not preserve
+                    .registerModule(new SimpleModule()
+                            .addSerializer(Path.class, new ToStringSerializer(Path.class))
+                            .addDeserializer(Path.class, new FromStringDeserializer<Path>(Path.class) {
+                                @Override
+                                protected Path _deserialize(String value, DeserializationContext ctxt) {
+                                    return Paths.get(value);
+                                }
+                            }))
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+            return m.setVisibility(m.getSerializationConfig().getDefaultVisibilityChecker()
+                    .withCreatorVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+                    .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                    .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                    .withFieldVisibility(JsonAutoDetect.Visibility.ANY));
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class SpillingChangeset implements Changeset {
+        final Store store;
+        final List<Map.Entry<Integer, SourceFile>> edits;
+        final List<SourceFile> generated;
+        final List<Map.Entry<Integer, List<Recipe>>> deletions;
+
+        @Override
+        public int size() {
+            return edits.size() + generated.size() + deletions.size();
+        }
+
+        /**
+         * A change whose original can no longer be read back from the store is left out of the page,
+         * which may then hold fewer than {@code count} results.
+         */
+        @Override
+        public List<Result> getPage(int start, int count) {
+            int end = Math.min(size(), start + count);
+            List<Result> page = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                if (i < edits.size()) {
+                    Map.Entry<Integer, SourceFile> edit = edits.get(i);
+                    SourceFile original = store.getOriginal(edit.getKey());
+                    if (original != null) {
+                        page.add(new Result(original, edit.getValue()));
+                    }
+                } else if (i < edits.size() + generated.size()) {
+                    SourceFile s = generated.get(i - edits.size());
+                    Collection<List<Recipe>> recipes = s.getMarkers().findFirst(RecipesThatMadeChanges.class).map(RecipesThatMadeChanges::getRecipes).orElse(Collections.emptyList());
+                    page.add(new Result(null, s, recipes));
+                } else {
+                    Map.Entry<Integer, List<Recipe>> deletion = deletions.get(i - edits.size() - generated.size());
+                    SourceFile original = store.getOriginal(deletion.getKey());
+                    if (original != null) {
+                        page.add(new Result(original, null, Collections.singleton(deletion.getValue())));
+                    }
+                }
+            }
+            return page;
+        }
+    }
+}
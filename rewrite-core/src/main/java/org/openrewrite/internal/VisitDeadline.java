@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.openrewrite.Incubating;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.SourceFileTimeoutException;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * A deadline for the recipe working on a source file on the current thread, which tree visitors
+ * {@link #check() check} cooperatively as they visit. Tree visitors only look up the deadline for
+ * their thread while some thread has a deadline.
+ */
+@Incubating(since = "8.19.0")
+public final class VisitDeadline {
+    private static final AtomicInteger active = new AtomicInteger();
+    private static final ThreadLocal<VisitDeadline> deadlines = ThreadLocal.withInitial(VisitDeadline::new);
+
+    private static volatile LongSupplier clock = System::nanoTime;
+
+    private boolean set;
+    private long deadline;
+
+    @Nullable
+    private Recipe recipe;
+
+    @Nullable
+    private SourceFile sourceFile;
+
+    @Nullable
+    private Duration timeout;
+
+    private VisitDeadline() {
+    }
+
+    /**
+     * Measure deadlines against another source of nanoseconds than {@link System#nanoTime()}, for tests.
+     *
+     * @param nanoTime The nanoseconds that deadlines are measured against, or {@code null} to measure
+     *                 them against {@link System#nanoTime()} again.
+     */
+    public static void setClock(@Nullable LongSupplier nanoTime) {
+        clock = nanoTime == null ? System::nanoTime : nanoTime;
+    }
+
+    public static void start(Recipe recipe, SourceFile sourceFile, Duration timeout) {
+        VisitDeadline visitDeadline = deadlines.get();
+        if (!visitDeadline.set) {
+            visitDeadline.set = true;
+            active.incrementAndGet();
+        }
+        visitDeadline.deadline = clock.getAsLong() + timeout.toNanos();
+        visitDeadline.recipe = recipe;
+        visitDeadline.sourceFile = sourceFile;
+        visitDeadline.timeout = timeout;
+    }
+
+    public static void clear() {
+        VisitDeadline visitDeadline = deadlines.get();
+        if (visitDeadline.set) {
+            visitDeadline.set = false;
+            visitDeadline.recipe = null;
+            visitDeadline.sourceFile = null;
+            active.decrementAndGet();
+        }
+    }
+
+    /**
+     * @throws SourceFileTimeoutException if the deadline on this thread has passed.
+     */
+    public static void check() {
+        if (active.get() > 0) {
+            VisitDeadline visitDeadline = deadlines.get();
+            if (visitDeadline.set && clock.getAsLong() - visitDeadline.deadline > 0) {
+                //noinspection DataFlowIssue
+                throw new SourceFileTimeoutException(visitDeadline.recipe, visitDeadline.sourceFile.getSourcePath(),
+                        visitDeadline.timeout);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.openrewrite.Incubating;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the visit methods called by every {@link org.openrewrite.TreeVisitor} on a thread between
+ * {@link #start()} and {@link #stop()}. Tree visitors report their count once per top-level visit,
+ * and only look up the counter for their thread while some thread is counting.
+ */
+@Incubating(since = "8.19.0")
+public final class VisitMethodCounter {
+    private static final AtomicInteger counting = new AtomicInteger();
+    private static final ThreadLocal<VisitMethodCounter> counters = ThreadLocal.withInitial(VisitMethodCounter::new);
+
+    private boolean active;
+    private long count;
+
+    private VisitMethodCounter() {
+    }
+
+    public static void start() {
+        VisitMethodCounter counter = counters.get();
+        if (!counter.active) {
+            counter.active = true;
+            counter.count = 0;
+            counting.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return The number of visit methods called on this thread since {@link #start()}.
+     */
+    public static long stop() {
+        VisitMethodCounter counter = counters.get();
+        if (counter.active) {
+            counter.active = false;
+            counting.decrementAndGet();
+        }
+        return counter.count;
+    }
+
+    public static void record(int visits) {
+        if (counting.get() > 0) {
+            VisitMethodCounter counter = counters.get();
+            if (counter.active) {
+                counter.count += visits;
+            }
+        }
+    }
+}
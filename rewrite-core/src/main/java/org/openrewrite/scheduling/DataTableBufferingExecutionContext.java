@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.DataTable;
+import org.openrewrite.DelegatingExecutionContext;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds data table rows inserted while a single source file is processed off of the
+ * calling thread, so they can be published to the shared context in source file order.
+ */
+class DataTableBufferingExecutionContext extends DelegatingExecutionContext {
+    @Nullable
+    private Object dataTables;
+
+    DataTableBufferingExecutionContext(ExecutionContext delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public void putMessage(String key, @Nullable Object value) {
+        if (DATA_TABLES.equals(key)) {
+            dataTables = value;
+        } else {
+            super.putMessage(key, value);
+        }
+    }
+
+    @Override
+    public <T> @Nullable T getMessage(String key) {
+        if (DATA_TABLES.equals(key)) {
+            //noinspection unchecked
+            return (T) dataTables;
+        }
+        return super.getMessage(key);
+    }
+
+    @Override
+    public <T> @Nullable T pollMessage(String key) {
+        if (DATA_TABLES.equals(key)) {
+            //noinspection unchecked
+            T t = (T) dataTables;
+            dataTables = null;
+            return t;
+        }
+        return super.pollMessage(key);
+    }
+
+    /**
+     * Append any buffered rows to the data tables of another context. Must be called
+     * from the thread that owns that context.
+     */
+    void publish(ExecutionContext ctx) {
+        if (dataTables == null) {
+            return;
+        }
+        //noinspection unchecked
+        for (Map.Entry<DataTable<?>, List<Object>> buffered : ((Map<DataTable<?>, List<Object>>) dataTables).entrySet()) {
+            ctx.computeMessage(DATA_TABLES, buffered, ConcurrentHashMap::new, (rows, allDataTables) -> {
+                //noinspection unchecked
+                List<Object> dataTablesOfType = (List<Object>) allDataTables.computeIfAbsent(rows.getKey(), c -> new ArrayList<>());
+                dataTablesOfType.addAll(rows.getValue());
+                return allDataTables;
+            });
+        }
+        dataTables = null;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.DelegatingExecutionContext;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opts a recipe run into processing source files concurrently. When no executor is
+ * supplied, every phase of a {@link RecipeRunCycle} runs on the calling thread.
+ * <p>
+ * Recipes that run in parallel must not share unsynchronized mutable state between
+ * source files, and any {@link ExecutionContext#getOnError()} consumer must be thread-safe.
+ */
+@Incubating(since = "8.19.0")
+public class ParallelExecutionContextView extends DelegatingExecutionContext {
+    public static final String SCAN_EXECUTOR = "org.openrewrite.scheduling.scanExecutor";
+    public static final String EDIT_EXECUTOR = "org.openrewrite.scheduling.editExecutor";
+
+    private ParallelExecutionContextView(ExecutionContext delegate) {
+        super(delegate);
+    }
+
+    public static ParallelExecutionContextView view(ExecutionContext ctx) {
+        if (ctx instanceof ParallelExecutionContextView) {
+            return (ParallelExecutionContextView) ctx;
+        }
+        return new ParallelExecutionContextView(ctx);
+    }
+
+    /**
+     * Only {@link org.openrewrite.ScanningRecipe scanning recipes} that implement
+     * {@link org.openrewrite.ParallelScanningRecipe} scan on this executor. Other scanning recipes continue to scan on the calling thread.
+     *
+     * @param executor An executor that source files are fanned out to during the scanning phase.
+     * @return This view.
+     */
+    public ParallelExecutionContextView setScanExecutor(@Nullable ExecutorService executor) {
+        putMessage(SCAN_EXECUTOR, executor);
+        return this;
+    }
+
+    @Nullable
+    public ExecutorService getScanExecutor() {
+        return getMessage(SCAN_EXECUTOR);
+    }
+
+    /**
+     * Like the working directory root, this should only be set by tools instantiating
+     * recipe runs directly, which are also responsible for shutting the executor down.
+     *
+     * @param executor An executor, e.g. a {@link java.util.concurrent.ForkJoinPool} or a virtual
+     *                 thread per task executor, that source files are fanned out to during the edit phase.
+     * @return This view.
+     */
+    public ParallelExecutionContextView setEditExecutor(@Nullable ExecutorService executor) {
+        putMessage(EDIT_EXECUTOR, executor);
+        return this;
+    }
+
+    @Nullable
+    public ExecutorService getEditExecutor() {
+        return getMessage(EDIT_EXECUTOR);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.SourceFileApplicability;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The outcome of each distinct {@link SourceFileApplicability} precondition for one source file
+ * as it passes through the recipe stack, so that a precondition shared by many recipes is evaluated
+ * once per version of the source file. Recipes earlier in the stack may change the source file in
+ * ways that change the outcome, so these are discarded whenever the source file changes.
+ * <p>
+ * One instance is created for each source file that is edited, and is only used by the thread
+ * editing it.
+ */
+class PreconditionOutcomes {
+    @Nullable
+    private SourceFile sourceFile;
+    private final Map<String, Boolean> applicable = new HashMap<>();
+
+    boolean isApplicable(SourceFileApplicability precondition, SourceFile sourceFile) {
+        if (this.sourceFile != sourceFile) {
+            this.sourceFile = sourceFile;
+            applicable.clear();
+        }
+        return applicable.computeIfAbsent(precondition.getApplicabilityKey(), k -> precondition.isApplicable(sourceFile));
+    }
+}
@@ -18,12 +18,16 @@
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.openrewrite.*;
 import org.openrewrite.internal.ExceptionUtils;
 import org.openrewrite.internal.FindRecipeRunException;
 import org.openrewrite.internal.RecipeRunException;
+import org.openrewrite.internal.VisitDeadline;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.scheduling.RecipeStack.RecipePath;
 import org.openrewrite.marker.Generated;
 import org.openrewrite.marker.RecipesThatMadeChanges;
 import org.openrewrite.table.RecipeRunStats;
@@ -32,8 +36,18 @@
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 import static java.util.Collections.unmodifiableList;
@@ -66,42 +80,136 @@
     long cycleStartTime = System.nanoTime();
     AtomicBoolean thrownErrorOnTimeout = new AtomicBoolean();
 
+    /**
+     * The recipe stack of the source file being edited on the current thread when editing in parallel.
+     */
+    ThreadLocal<RecipeStack> parallelRecipeStack = new ThreadLocal<>();
+
+    @NonFinal
+    @Nullable
+    Boolean revisitsUnchangedSourceFiles;
+
     @Getter
-    Set<Recipe> madeChangesInThisCycle = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<Recipe> madeChangesInThisCycle = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    /**
+     * The IDs of the source files that were changed or generated in the previous cycle, or {@code null}
+     * when every source file is to be edited. Source files that are not in this set are only offered to
+     * recipes that {@link Recipe#revisitsUnchangedSourceFiles() revisit unchanged source files}.
+     */
+    @Setter
+    @NonFinal
+    @Nullable
+    Set<UUID> sourceFilesToRevisit;
+
+    Set<UUID> changedInThisCycle = ConcurrentHashMap.newKeySet();
+    AtomicBoolean madeChangesThroughMessages = new AtomicBoolean();
+
+    /**
+     * @return The IDs of the source files that the next cycle must edit with every recipe, or {@code null}
+     * if a recipe added messages to the execution context in this cycle, which may change how other source
+     * files are edited.
+     */
+    @Nullable
+    public Set<UUID> getSourceFilesToRevisitInNextCycle() {
+        return madeChangesThroughMessages.get() ? null : changedInThisCycle;
+    }
 
     public int getRecipePosition() {
-        return allRecipeStack.getRecipePosition();
+        RecipeStack recipeStack = parallelRecipeStack.get();
+        return (recipeStack == null ? allRecipeStack : recipeStack).getRecipePosition();
     }
 
     public LSS scanSources(LSS sourceSet) {
+        ExecutorService executor = ParallelExecutionContextView.view(ctx).getScanExecutor();
+        if (executor != null) {
+            return scanSourcesInParallel(sourceSet, executor);
+        }
         return sourceSetEditor.apply(sourceSet, sourceFile ->
-                allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
-                    Recipe recipe = recipeStack.peek();
-                    if (source == null) {
-                        return null;
-                    }
+                allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) ->
+                        scanSource(source, recipeStack, ctx, scanningRecipe ->
+                                scanningRecipe.getAccumulator(rootCursor, ctx)), sourceFile)
+        );
+    }
+
+    /**
+     * Scanning recipes that implement {@link ParallelScanningRecipe} scan each source file on the executor
+     * into a partial accumulator. Each task borrows a set of partial accumulators that no other task is using
+     * and returns it when it is done, so there are only as many partial accumulators as there are tasks running
+     * at the same time, however the executor assigns tasks to threads. All other scanning recipes scan on the
+     * calling thread into the shared accumulator as results come back. Once every source file is scanned, the
+     * partial accumulators are merged into the shared accumulator of their recipe.
+     */
+    private LSS scanSourcesInParallel(LSS sourceSet, ExecutorService executor) {
+        allRecipeStack.resolve(recipe);
+        Queue<Map<Recipe, Object>> allPartialAccumulators = new ConcurrentLinkedQueue<>();
+        Queue<Map<Recipe, Object>> idlePartialAccumulators = new ConcurrentLinkedQueue<>();
+
+        LSS scanned = fanOut(sourceSet, executor, sourceFile -> () -> {
+            Map<Recipe, Object> partials = idlePartialAccumulators.poll();
+            if (partials == null) {
+                partials = new IdentityHashMap<>();
+                allPartialAccumulators.add(partials);
+            }
+            Map<Recipe, Object> taskPartials = partials;
+            try {
+                return inIsolation(sourceFile, (source, recipeStack, isolatedCtx) ->
+                        recipeStack.peek() instanceof ParallelScanningRecipe ?
+                                scanSource(source, recipeStack, isolatedCtx, scanningRecipe ->
+                                        taskPartials.computeIfAbsent(scanningRecipe, r -> scanningRecipe.getInitialValue(ctx))) :
+                                source);
+            } finally {
+                idlePartialAccumulators.add(taskPartials);
+            }
+        }, result -> result.after = allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) ->
+                recipeStack.peek() instanceof ParallelScanningRecipe ?
+                        source :
+                        scanSource(source, recipeStack, ctx, scanningRecipe ->
+                                scanningRecipe.getAccumulator(rootCursor, ctx)), result.after));
+
+        for (Map<Recipe, Object> partials : allPartialAccumulators) {
+            for (Map.Entry<Recipe, Object> partial : partials.entrySet()) {
+                //noinspection unchecked
+                ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) partial.getKey();
+                try {
+                    //noinspection unchecked
+                    ((ParallelScanningRecipe<Object>) scanningRecipe).merge(scanningRecipe.getAccumulator(rootCursor, ctx), partial.getValue());
+                } catch (Throwable t) {
+                    ctx.getOnError().accept(t);
+                }
+            }
+            partials.clear();
+        }
+        return scanned;
+    }
+
+    @Nullable
+    private SourceFile scanSource(@Nullable SourceFile source, RecipePath recipeStack, ExecutionContext ctx,
+                                  Function<ScanningRecipe<Object>, Object> accumulator) {
+        Recipe recipe = recipeStack.peek();
+        if (source == null) {
+            return null;
+        }
+
+        SourceFile after = source;
 
-                    SourceFile after = source;
-
-                    if (recipe instanceof ScanningRecipe) {
-                        try {
-                            //noinspection unchecked
-                            ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) recipe;
-                            Object acc = scanningRecipe.getAccumulator(rootCursor, ctx);
-                            recipeRunStats.recordScan(recipe, () -> {
-                                TreeVisitor<?, ExecutionContext> scanner = scanningRecipe.getScanner(acc);
-                                if (scanner.isAcceptable(source, ctx)) {
-                                    scanner.visit(source, ctx, rootCursor);
-                                }
-                                return source;
-                            });
-                        } catch (Throwable t) {
-                            after = handleError(recipe, source, after, t);
-                        }
+        if (recipe instanceof ScanningRecipe) {
+            try {
+                //noinspection unchecked
+                ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) recipe;
+                Object acc = accumulator.apply(scanningRecipe);
+                recipeRunStats.recordScan(recipe, source, withSourceFileTimeout(recipe, source, ctx, () -> {
+                    TreeVisitor<?, ExecutionContext> scanner = scanningRecipe.getScanner(acc);
+                    if (scanner.isAcceptable(source, ctx)) {
+                        scanner.visit(source, ctx, rootCursor);
                     }
-                    return after;
-                }, sourceFile)
-        );
+                    return source;
+                }));
+            } catch (Throwable t) {
+                after = handleError(recipe, source, after, t, ctx);
+            }
+        }
+        return after;
     }
 
     public LSS generateSources(LSS sourceSet) {
@@ -110,11 +218,15 @@ public LSS generateSources(LSS sourceSet) {
             if (recipe instanceof ScanningRecipe) {
                 //noinspection unchecked
                 ScanningRecipe<Object> scanningRecipe = (ScanningRecipe<Object>) recipe;
-                List<SourceFile> generated = new ArrayList<>(scanningRecipe.generate(scanningRecipe.getAccumulator(rootCursor, ctx), unmodifiableList(acc), ctx));
+                List<SourceFile> generated = new ArrayList<>(recipeRunStats.recordGenerate(recipe, () ->
+                        scanningRecipe.generate(scanningRecipe.getAccumulator(rootCursor, ctx), unmodifiableList(acc), ctx)));
                 generated.replaceAll(source -> addRecipesThatMadeChanges(recipeStack, source));
                 acc.addAll(generated);
                 if (!generated.isEmpty()) {
                     madeChangesInThisCycle.add(recipe);
+                    for (SourceFile source : generated) {
+                        changedInThisCycle.add(source.getId());
+                    }
                 }
             }
             return acc;
@@ -125,73 +237,318 @@ public LSS generateSources(LSS sourceSet) {
     }
 
     public LSS editSources(LSS sourceSet) {
-        // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
-        // propagate shared root cursor
-        // skip edits made to generated source files so that they don't show up in a diff
-        // that later fails to apply on a freshly cloned repository
-        // consider any recipes adding new messages as a changing recipe (which can request another cycle)
-        return sourceSetEditor.apply(sourceSet, sourceFile ->
-                allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) -> {
-                    Recipe recipe = recipeStack.peek();
-                    if (source == null) {
-                        return null;
-                    }
+        ExecutorService executor = ParallelExecutionContextView.view(ctx).getEditExecutor();
+        if (executor != null) {
+            return editSourcesInParallel(sourceSet, executor);
+        }
+        return sourceSetEditor.apply(sourceSet, sourceFile -> {
+            if (isUnchangedSincePreviousCycle(sourceFile) && !revisitsUnchangedSourceFiles()) {
+                return sourceFile;
+            }
+            PreconditionOutcomes outcomes = new PreconditionOutcomes();
+            return allRecipeStack.reduce(sourceSet, recipe, ctx, (source, recipeStack) ->
+                    isSkipped(sourceFile, source, recipeStack.peek()) ?
+                            source :
+                            editSource(source, recipeStack, ctx, outcomes), sourceFile);
+        });
+    }
+
+    private boolean isUnchangedSincePreviousCycle(SourceFile sourceFile) {
+        return sourceFilesToRevisit != null && !sourceFilesToRevisit.contains(sourceFile.getId());
+    }
+
+    /**
+     * A recipe that does not revisit unchanged source files is skipped on a source file that
+     * was unchanged in the previous cycle, unless another recipe has changed it in this cycle.
+     */
+    private boolean isSkipped(SourceFile sourceFile, @Nullable SourceFile source, Recipe recipe) {
+        return source == sourceFile && isUnchangedSincePreviousCycle(sourceFile) && !recipe.revisitsUnchangedSourceFiles();
+    }
 
-                    SourceFile after = source;
-
-                    try {
-                        Duration duration = Duration.ofNanos(System.nanoTime() - cycleStartTime);
-                        if (duration.compareTo(ctx.getMessage(ExecutionContext.RUN_TIMEOUT, Duration.ofMinutes(4))) > 0) {
-                            if (thrownErrorOnTimeout.compareAndSet(false, true)) {
-                                RecipeTimeoutException t = new RecipeTimeoutException(recipe);
-                                ctx.getOnError().accept(t);
-                                ctx.getOnTimeout().accept(t, ctx);
-                            }
-                            return source;
-                        }
-
-                        if (ctx.getMessage(PANIC) != null) {
-                            return source;
-                        }
-
-                        TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
-                        // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
-                        visitor.setCursor(rootCursor);
-
-                        after = recipeRunStats.recordEdit(recipe, () -> {
-                            if (visitor.isAcceptable(source, ctx)) {
-                                // propagate shared root cursor
-                                return (SourceFile) visitor.visit(source, ctx, rootCursor);
-                            }
-                            return source;
+    private boolean revisitsUnchangedSourceFiles() {
+        if (revisitsUnchangedSourceFiles == null) {
+            allRecipeStack.resolve(recipe);
+            revisitsUnchangedSourceFiles = revisitsUnchangedSourceFiles(recipe, Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        return revisitsUnchangedSourceFiles;
+    }
+
+    private boolean revisitsUnchangedSourceFiles(Recipe recipe, Set<Recipe> visited) {
+        if (!visited.add(recipe)) {
+            return false;
+        }
+        if (recipe.revisitsUnchangedSourceFiles()) {
+            return true;
+        }
+        for (Recipe r : allRecipeStack.getRecipeList(recipe)) {
+            if (revisitsUnchangedSourceFiles(r, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Each source file is run through the whole recipe stack on the executor, with data table
+     * rows buffered per source file. The results are gathered on the calling thread in the order
+     * in which the source set iterates its files, so that the resulting source set and data tables
+     * are the same as those produced by a sequential edit.
+     */
+    private LSS editSourcesInParallel(LSS sourceSet, ExecutorService executor) {
+        allRecipeStack.resolve(recipe);
+        boolean revisitsUnchangedSourceFiles = revisitsUnchangedSourceFiles();
+        return fanOut(sourceSet, executor, sourceFile ->
+                isUnchangedSincePreviousCycle(sourceFile) && !revisitsUnchangedSourceFiles ?
+                        null :
+                        () -> {
+                            PreconditionOutcomes outcomes = new PreconditionOutcomes();
+                            return inIsolation(sourceFile, (source, recipeStack, isolatedCtx) ->
+                                    isSkipped(sourceFile, source, recipeStack.peek()) ?
+                                            source :
+                                            editSource(source, recipeStack, isolatedCtx, outcomes));
                         });
+    }
 
-                        if (after != source) {
-                            madeChangesInThisCycle.add(recipe);
-                            recordSourceFileResult(source, after, recipeStack, ctx);
-                            if (source.getMarkers().findFirst(Generated.class).isPresent()) {
-                                // skip edits made to generated source files so that they don't show up in a diff
-                                // that later fails to apply on a freshly cloned repository
-                                return source;
-                            }
-                            recipeRunStats.recordSourceFileChanged(source, after);
-                        } else if (ctx.hasNewMessages()) {
-                            // consider any recipes adding new messages as a changing recipe (which can request another cycle)
-                            madeChangesInThisCycle.add(recipe);
-                            ctx.resetHasNewMessages();
-                        }
-                    } catch (Throwable t) {
-                        after = handleError(recipe, source, after, t);
-                    }
-                    if (after != null && after != source) {
-                        after = addRecipesThatMadeChanges(recipeStack, after);
-                    }
-                    return after;
-                }, sourceFile)
-        );
+    private LSS fanOut(LSS sourceSet, ExecutorService executor, Function<SourceFile, Callable<ParallelEdit>> task) {
+        return fanOut(sourceSet, executor, task, result -> {
+        });
     }
 
-    private void recordSourceFileResult(@Nullable SourceFile before, @Nullable SourceFile after, Stack<Recipe> recipeStack, ExecutionContext ctx) {
+    /**
+     * Submit a task for each source file to the executor, keeping at most {@link #maxInFlight(ExecutorService)}
+     * tasks in flight. Once the window is full, the oldest result is gathered on the calling thread before the
+     * next task is submitted, so results are gathered in the order in which the source set iterates its files.
+     * Data table rows are published as each result is gathered, and only results that changed their source
+     * file are held until they are applied to the source set in a second iteration, which relies on the
+     * source set iterating its source files in the same order each time.
+     *
+     * @param task       The work to do for a source file, or {@code null} to leave it as it is.
+     * @param onGathered Called on the calling thread for each result as it is gathered.
+     */
+    private LSS fanOut(LSS sourceSet, ExecutorService executor,
+                       Function<SourceFile, Callable<ParallelEdit>> task,
+                       Consumer<ParallelEdit> onGathered) {
+        int maxInFlight = maxInFlight(executor);
+        Queue<Future<ParallelEdit>> inFlight = new ArrayDeque<>(maxInFlight);
+        Map<Integer, ParallelEdit> changes = new HashMap<>();
+        int[] position = {0};
+        sourceSetEditor.apply(sourceSet, sourceFile -> {
+            Callable<ParallelEdit> work = task.apply(sourceFile);
+            if (work != null) {
+                if (inFlight.size() == maxInFlight) {
+                    gather(inFlight, changes, onGathered);
+                }
+                int at = position[0];
+                inFlight.add(executor.submit(() -> {
+                    ParallelEdit result = work.call();
+                    result.position = at;
+                    return result;
+                }));
+            }
+            position[0]++;
+            return sourceFile;
+        });
+        while (!inFlight.isEmpty()) {
+            gather(inFlight, changes, onGathered);
+        }
+
+        if (changes.isEmpty()) {
+            return sourceSet;
+        }
+        position[0] = 0;
+        return sourceSetEditor.apply(sourceSet, sourceFile -> {
+            ParallelEdit change = changes.remove(position[0]++);
+            if (change == null) {
+                return sourceFile;
+            }
+            if (!change.before.getId().equals(sourceFile.getId())) {
+                throw new IllegalStateException("The source set did not iterate its source files in a consistent order");
+            }
+            if (change.after == null && change.deletedBy != null) {
+                sourceSet.setRecipe(change.deletedBy);
+            }
+            return change.after;
+        });
+    }
+
+    private void gather(Queue<Future<ParallelEdit>> inFlight, Map<Integer, ParallelEdit> changes,
+                        Consumer<ParallelEdit> onGathered) {
+        ParallelEdit result = await(requireNonNull(inFlight.poll()));
+        result.ctx.publish(ctx);
+        onGathered.accept(result);
+        if (result.after != result.before) {
+            changes.put(result.position, result);
+        }
+    }
+
+    /**
+     * Twice the parallelism of the executor, so that workers are kept busy while the calling
+     * thread gathers results, without holding the results of the whole source set in memory.
+     */
+    private static int maxInFlight(ExecutorService executor) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if (executor instanceof ForkJoinPool) {
+            parallelism = ((ForkJoinPool) executor).getParallelism();
+        } else if (executor instanceof ThreadPoolExecutor && ((ThreadPoolExecutor) executor).getCorePoolSize() > 0) {
+            parallelism = ((ThreadPoolExecutor) executor).getCorePoolSize();
+        }
+        return 2 * Math.max(1, parallelism);
+    }
+
+    /**
+     * Run one source file through the whole recipe stack off of the calling thread, with
+     * its own recipe stack and a context that buffers data table rows.
+     */
+    private ParallelEdit inIsolation(SourceFile sourceFile, SourceFileOperation operation) {
+        RecipeStack recipeStack = new RecipeStack(allRecipeStack);
+        DataTableBufferingExecutionContext buffer = new DataTableBufferingExecutionContext(ctx);
+        WatchableExecutionContext isolatedCtx = new WatchableExecutionContext(buffer);
+        ParallelEdit result = new ParallelEdit(sourceFile, buffer);
+        parallelRecipeStack.set(recipeStack);
+        try {
+            result.after = recipeStack.reduce(null, recipe, isolatedCtx, (source, stack) -> {
+                SourceFile after = operation.apply(source, stack, isolatedCtx);
+                if (source != null && after == null) {
+                    result.deletedBy = stack;
+                }
+                return after;
+            }, sourceFile);
+        } finally {
+            parallelRecipeStack.remove();
+        }
+        return result;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Nullable
+    private SourceFile editSource(@Nullable SourceFile source, RecipePath recipeStack, WatchableExecutionContext ctx,
+                                  PreconditionOutcomes outcomes) {
+        Recipe recipe = recipeStack.peek();
+        if (source == null) {
+            return null;
+        }
+
+        SourceFile after = source;
+
+        try {
+            Duration duration = Duration.ofNanos(System.nanoTime() - cycleStartTime);
+            if (duration.compareTo(ctx.getMessage(ExecutionContext.RUN_TIMEOUT, Duration.ofMinutes(4))) > 0) {
+                if (thrownErrorOnTimeout.compareAndSet(false, true)) {
+                    RecipeTimeoutException t = new RecipeTimeoutException(recipe);
+                    ctx.getOnError().accept(t);
+                    ctx.getOnTimeout().accept(t, ctx);
+                }
+                return source;
+            }
+
+            if (ctx.getMessage(PANIC) != null) {
+                return source;
+            }
+
+            TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
+            // set root cursor as it is required by the `ScanningRecipe#isAcceptable()`
+            visitor.setCursor(rootCursor);
+
+            TreeVisitor<?, ExecutionContext> edit = satisfyingPrecondition(visitor, source, outcomes);
+            if (edit == null) {
+                return source;
+            }
+
+            // only messages added by this recipe's visit are attributed to it below, and not the
+            // data table rows recorded for the recipe that edited this source file before it
+            ctx.resetHasNewMessages();
+            after = recipeRunStats.recordEdit(recipe, source, withSourceFileTimeout(recipe, source, ctx, () -> {
+                if (visitor.isAcceptable(source, ctx)) {
+                    // propagate shared root cursor
+                    return (SourceFile) edit.visit(source, ctx, rootCursor);
+                }
+                return source;
+            }));
+
+            if (ctx.hasNewMessages()) {
+                // messages may change how other source files are edited in the next cycle, whether
+                // or not this source file was changed
+                madeChangesThroughMessages.set(true);
+            }
+
+            if (after != source) {
+                madeChangesInThisCycle.add(recipe);
+                changedInThisCycle.add(source.getId());
+                if (after != null) {
+                    changedInThisCycle.add(after.getId());
+                }
+                recordSourceFileResult(source, after, recipeStack, ctx);
+                if (source.getMarkers().findFirst(Generated.class).isPresent()) {
+                    // skip edits made to generated source files so that they don't show up in a diff
+                    // that later fails to apply on a freshly cloned repository
+                    return source;
+                }
+                recipeRunStats.recordSourceFileChanged(source, after);
+            } else if (ctx.hasNewMessages()) {
+                // consider any recipes adding new messages as a changing recipe (which can request another cycle)
+                madeChangesInThisCycle.add(recipe);
+                ctx.resetHasNewMessages();
+            }
+        } catch (Throwable t) {
+            after = handleError(recipe, source, after, t, ctx);
+        }
+        if (after != null && after != source) {
+            after = addRecipesThatMadeChanges(recipeStack, after);
+        }
+        return after;
+    }
+
+    /**
+     * A precondition that can be decided from the source file alone is decided once per version of the
+     * source file for all recipes that share it, rather than by visiting the source file with each check.
+     *
+     * @return The visitor to edit the source file with, or {@code null} if the precondition is not satisfied.
+     */
+    @Nullable
+    private static TreeVisitor<?, ExecutionContext> satisfyingPrecondition(TreeVisitor<?, ExecutionContext> visitor,
+                                                                           SourceFile source,
+                                                                           PreconditionOutcomes outcomes) {
+        if (visitor instanceof Preconditions.Check) {
+            Preconditions.Check check = (Preconditions.Check) visitor;
+            if (check.getCheck() instanceof SourceFileApplicability) {
+                return outcomes.isApplicable((SourceFileApplicability) check.getCheck(), source) ?
+                        check.getVisitor() :
+                        null;
+            }
+        }
+        return visitor;
+    }
+
+    /**
+     * Give tree visitors a deadline to check as they visit when the run limits how long one recipe
+     * may spend on one source file.
+     */
+    private static <T> Callable<T> withSourceFileTimeout(Recipe recipe, SourceFile source, ExecutionContext ctx, Callable<T> work) {
+        Duration timeout = ctx.getMessage(ExecutionContext.SOURCE_FILE_TIMEOUT);
+        if (timeout == null) {
+            return work;
+        }
+        return () -> {
+            VisitDeadline.start(recipe, source, timeout);
+            try {
+                return work.call();
+            } finally {
+                VisitDeadline.clear();
+            }
+        };
+    }
+
+    private void recordSourceFileResult(@Nullable SourceFile before, @Nullable SourceFile after, RecipePath recipeStack, ExecutionContext ctx) {
         String beforePath = (before == null) ? "" : before.getSourcePath().toString();
         String afterPath = (after == null) ? "" : after.getSourcePath().toString();
         Recipe recipe = recipeStack.peek();
@@ -239,10 +596,11 @@ private void recordSourceFileResult(@Nullable String beforePath, @Nullable Strin
 
     @Nullable
     private SourceFile handleError(Recipe recipe, SourceFile sourceFile, @Nullable SourceFile after,
-                                   Throwable t) {
+                                   Throwable t, ExecutionContext ctx) {
         ctx.getOnError().accept(t);
 
-        if (t instanceof RecipeRunException) {
+        // a source file that a recipe ran out of time on is left as it was
+        if (t instanceof RecipeRunException && !(t.getCause() instanceof SourceFileTimeoutException)) {
             RecipeRunException vt = (RecipeRunException) t;
             after = (SourceFile) new FindRecipeRunException(vt).visitNonNull(requireNonNull(after, "after is null"), 0);
         }
@@ -267,4 +625,27 @@ private static <S extends SourceFile> S addRecipesThatMadeChanges(List<Recipe> r
                 })
         );
     }
+
+    @FunctionalInterface
+    private interface SourceFileOperation {
+        @Nullable
+        SourceFile apply(@Nullable SourceFile source, RecipePath recipeStack, WatchableExecutionContext ctx);
+    }
+
+    @RequiredArgsConstructor
+    private static class ParallelEdit {
+        final SourceFile before;
+        final DataTableBufferingExecutionContext ctx;
+
+        @Nullable
+        SourceFile after;
+
+        @Nullable
+        List<Recipe> deletedBy;
+
+        /**
+         * The position of {@link #before} in the iteration order of the source set.
+         */
+        int position;
+    }
 }
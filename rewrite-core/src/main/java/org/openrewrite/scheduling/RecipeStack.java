@@ -20,19 +20,40 @@
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.LargeSourceSet;
 import org.openrewrite.Recipe;
+import org.openrewrite.internal.lang.Nullable;
 
-import java.util.IdentityHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Stack;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.*;
 import java.util.function.BiFunction;
 
 import static org.openrewrite.Recipe.PANIC;
 
 class RecipeStack {
-    private final Map<Recipe, List<Recipe>> recipeLists = new IdentityHashMap<>();
-    private Stack<Stack<Recipe>> allRecipesStack;
+    private final Map<Recipe, List<Recipe>> recipeLists;
+
+    /**
+     * The recipe tree of {@link #root} flattened in the order in which its recipes run, so that each
+     * source file is reduced over the same recipe paths without allocating any.
+     */
+    @Nullable
+    private RecipePath[] paths;
+
+    @Nullable
+    private Recipe root;
+
+    RecipeStack() {
+        this.recipeLists = new IdentityHashMap<>();
+    }
+
+    /**
+     * A recipe stack that reuses the recipe lists already resolved by another, so that recipes
+     * which create their recipe list on each call to {@link Recipe#getRecipeList()} are the same
+     * instances on both. The other recipe stack must have already resolved the whole recipe tree.
+     */
+    RecipeStack(RecipeStack resolved) {
+        this.recipeLists = resolved.recipeLists;
+        this.paths = resolved.paths;
+        this.root = resolved.root;
+    }
 
     /**
      * The zero-based position of the recipe that is currently doing a scan/generate/edit.
@@ -41,57 +62,95 @@ class RecipeStack {
     @Getter
     int recipePosition;
 
-    public <T> T reduce(LargeSourceSet sourceSet, Recipe recipe, ExecutionContext ctx,
-                        BiFunction<T, Stack<Recipe>, T> consumer, T acc) {
-        init(recipe);
-        AtomicInteger recipePosition = new AtomicInteger(0);
-        while (!allRecipesStack.isEmpty()) {
+    /**
+     * @param sourceSet The source set to notify of the recipe currently operating on it, or {@code null} when
+     *                  the reduction is happening on a thread other than the one that owns the source set.
+     */
+    public <T> T reduce(@Nullable LargeSourceSet sourceSet, Recipe recipe, ExecutionContext ctx,
+                        BiFunction<T, RecipePath, T> consumer, T acc) {
+        RecipePath[] paths = flatten(recipe);
+        int cycle = ctx.getCycle();
+        for (int i = 0; i < paths.length; i++) {
             if (ctx.getMessage(PANIC) != null) {
                 break;
             }
 
-            this.recipePosition = recipePosition.getAndIncrement();
-            Stack<Recipe> recipeStack = allRecipesStack.pop();
-            if (recipeStack.peek().maxCycles() >= ctx.getCycle()) {
-                sourceSet.setRecipe(recipeStack);
-                acc = consumer.apply(acc, recipeStack);
-                recurseRecipeList(recipeStack);
+            this.recipePosition = i;
+            RecipePath recipePath = paths[i];
+            if (recipePath.peek().maxCycles() >= cycle) {
+                if (sourceSet != null) {
+                    sourceSet.setRecipe(recipePath);
+                }
+                acc = consumer.apply(acc, recipePath);
             } else {
-                this.recipePosition = recipePosition.getAndAdd(countRecipes(recipeStack.peek()));
+                // skip the recipes nested beneath this one too
+                i += recipePath.descendants;
             }
         }
         return acc;
     }
 
-    private void init(Recipe recipe) {
-        allRecipesStack = new Stack<>();
-        Stack<Recipe> rootRecipeStack = new Stack<>();
-        rootRecipeStack.push(recipe);
-        allRecipesStack.push(rootRecipeStack);
+    private RecipePath[] flatten(Recipe recipe) {
+        if (paths == null || root != recipe) {
+            List<RecipePath> flattened = new ArrayList<>();
+            flatten(new Recipe[]{recipe}, flattened);
+            paths = flattened.toArray(new RecipePath[0]);
+            root = recipe;
+        }
+        return paths;
     }
 
-    private void recurseRecipeList(Stack<Recipe> recipeStack) {
-        List<Recipe> recipeList = getRecipeList(recipeStack.peek());
-        for (int i = recipeList.size() - 1; i >= 0; i--) {
-            Recipe r = recipeList.get(i);
-            Stack<Recipe> nextStack = new Stack<>();
-            nextStack.addAll(recipeStack);
-            nextStack.push(r);
-            allRecipesStack.push(nextStack);
+    private void flatten(Recipe[] path, List<RecipePath> flattened) {
+        int position = flattened.size();
+        flattened.add(null);
+        for (Recipe subRecipe : getRecipeList(path[path.length - 1])) {
+            Recipe[] subPath = Arrays.copyOf(path, path.length + 1);
+            subPath[path.length] = subRecipe;
+            flatten(subPath, flattened);
         }
+        flattened.set(position, new RecipePath(path, flattened.size() - position - 1));
     }
 
-    private int countRecipes(Recipe recipe) {
-        int count = 0;
-        List<Recipe> recipeList = getRecipeList(recipe);
-        for (Recipe subRecipe : recipeList) {
-            count++;
-            count += countRecipes(subRecipe);
-        }
-        return count;
+    /**
+     * Resolve the recipe list of every recipe in the tree, so that recipe stacks sharing
+     * this one's recipe lists can be used concurrently.
+     */
+    void resolve(Recipe recipe) {
+        flatten(recipe);
     }
 
-    private List<Recipe> getRecipeList(Recipe recipe) {
+    List<Recipe> getRecipeList(Recipe recipe) {
         return recipeLists.computeIfAbsent(recipe, Recipe::getRecipeList);
     }
+
+    /**
+     * A recipe preceded by the recipes that contain it, starting with the root recipe of the run.
+     * These are shared by every source file, and so are immutable.
+     */
+    static final class RecipePath extends AbstractList<Recipe> implements RandomAccess {
+        private final Recipe[] recipes;
+        private final int descendants;
+
+        private RecipePath(Recipe[] recipes, int descendants) {
+            this.recipes = recipes;
+            this.descendants = descendants;
+        }
+
+        /**
+         * @return The recipe at the end of this path.
+         */
+        Recipe peek() {
+            return recipes[recipes.length - 1];
+        }
+
+        @Override
+        public Recipe get(int index) {
+            return recipes[index];
+        }
+
+        @Override
+        public int size() {
+            return recipes.length;
+        }
+    }
 }
@@ -15,32 +15,58 @@
  */
 package org.openrewrite.table;
 
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
 import lombok.Value;
 import org.openrewrite.*;
+import org.openrewrite.internal.VisitMethodCounter;
 import org.openrewrite.internal.lang.Nullable;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Timings are recorded into counters and histograms allocated once per recipe, so recording
+ * an edit or scan costs two reads of the clock and a few uncontended atomic increments. When
+ * {@link ExecutionContext#PROFILE_RECIPES profiling}, the visit methods called and the bytes
+ * allocated on behalf of each recipe are measured as well.
+ */
 public class RecipeRunStats extends DataTable<RecipeRunStats.Row> {
-    private final MeterRegistry registry = new SimpleMeterRegistry();
-    private final Set<Path> sourceFileChanged = new HashSet<>();
+    private final Map<String, RecipeStats> recipeStats = new ConcurrentHashMap<>();
+    private final Set<Path> sourceFileChanged = ConcurrentHashMap.newKeySet();
+    private final boolean profile;
+
+    @Nullable
+    private final SourcesFileCosts sourcesFileCosts;
 
     public RecipeRunStats(Recipe recipe) {
+        this(recipe, false, null);
+    }
+
+    /**
+     * @param profile          Whether to measure visit methods called and bytes allocated.
+     * @param sourcesFileCosts Where to attribute the time of each scan and edit to the source file
+     *                         it was spent on.
+     */
+    @Incubating(since = "8.19.0")
+    public RecipeRunStats(Recipe recipe, boolean profile, @Nullable SourcesFileCosts sourcesFileCosts) {
         super(recipe,
                 "Recipe performance",
                 "Statistics used in analyzing the performance of recipes.");
+        this.profile = profile;
+        this.sourcesFileCosts = sourcesFileCosts;
     }
 
     public void recordSourceFileChanged(@Nullable SourceFile before, @Nullable SourceFile after) {
@@ -52,36 +78,103 @@ public void recordSourceFileChanged(@Nullable SourceFile before, @Nullable Sourc
     }
 
     public void recordScan(Recipe recipe, Callable<SourceFile> scan) throws Exception {
-        Timer.builder("rewrite.recipe.scan")
-                .tag("name", recipe.getName())
-                .publishPercentiles(0.99)
-                .register(registry)
-                .recordCallable(scan);
+        RecipeStats stats = stats(recipe);
+        record(stats, stats.scan(), scan::call);
+    }
+
+    @Incubating(since = "8.19.0")
+    public void recordScan(Recipe recipe, SourceFile sourceFile, Callable<SourceFile> scan) throws Exception {
+        RecipeStats stats = stats(recipe);
+        record(stats, stats.scan(), scan::call, recipe, sourceFile, "scan");
     }
 
     @Nullable
     public SourceFile recordEdit(Recipe recipe, Callable<SourceFile> edit) throws Exception {
-        return Timer.builder("rewrite.recipe.edit")
-                .tag("name", recipe.getName())
-                .publishPercentiles(0.99)
-                .register(registry)
-                .recordCallable(edit);
+        RecipeStats stats = stats(recipe);
+        return record(stats, stats.edit, edit::call);
+    }
+
+    @Incubating(since = "8.19.0")
+    @Nullable
+    public SourceFile recordEdit(Recipe recipe, SourceFile sourceFile, Callable<SourceFile> edit) throws Exception {
+        RecipeStats stats = stats(recipe);
+        return record(stats, stats.edit, edit::call, recipe, sourceFile, "edit");
+    }
+
+    @Incubating(since = "8.19.0")
+    public <T> T recordGenerate(Recipe recipe, Supplier<T> generate) {
+        RecipeStats stats = stats(recipe);
+        return record(stats, stats.generate(), generate::get);
+    }
+
+    private RecipeStats stats(Recipe recipe) {
+        String name = recipe.getName();
+        RecipeStats stats = recipeStats.get(name);
+        return stats == null ? recipeStats.computeIfAbsent(name, n -> new RecipeStats()) : stats;
+    }
+
+    private <T, E extends Exception> T record(RecipeStats stats, Timing timing, Measured<T, E> callable) throws E {
+        return record(stats, timing, callable, null, null, null);
+    }
+
+    private <T, E extends Exception> T record(RecipeStats stats, Timing timing, Measured<T, E> callable,
+                                              @Nullable Recipe recipe, @Nullable SourceFile sourceFile,
+                                              @Nullable String phase) throws E {
+        if (!profile) {
+            long start = System.nanoTime();
+            try {
+                return callable.call();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                timing.record(elapsed);
+                if (sourcesFileCosts != null && sourceFile != null) {
+                    sourcesFileCosts.record(sourceFile, requireNonNull(recipe), requireNonNull(phase), elapsed, null);
+                }
+            }
+        }
+
+        long allocatedBefore = Allocation.allocatedBytes();
+        VisitMethodCounter.start();
+        long start = System.nanoTime();
+        try {
+            return callable.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timing.record(elapsed);
+            long visitMethods = VisitMethodCounter.stop();
+            stats.visitMethods.add(visitMethods);
+            long allocatedAfter = Allocation.allocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                stats.allocatedBytes.add(allocatedAfter - allocatedBefore);
+            }
+            if (sourcesFileCosts != null && sourceFile != null) {
+                sourcesFileCosts.record(sourceFile, requireNonNull(recipe), requireNonNull(phase), elapsed, visitMethods);
+            }
+        }
     }
 
     public void flush(ExecutionContext ctx) {
-        for (Timer editor : registry.find("rewrite.recipe.edit").timers()) {
-            String recipeName = requireNonNull(editor.getId().getTag("name"));
-            Timer scanner = registry.find("rewrite.recipe.scan").tag("name", recipeName).timer();
+        for (Map.Entry<String, RecipeStats> recipe : recipeStats.entrySet()) {
+            RecipeStats stats = recipe.getValue();
+            Timing editor = stats.edit;
+            if (editor.count.sum() == 0) {
+                continue;
+            }
+            Timing scanner = stats.scan;
+            Timing generator = stats.generate;
             Row row = new Row(
-                    recipeName,
-                    Long.valueOf(editor.count()).intValue(),
+                    recipe.getKey(),
+                    (int) editor.count.sum(),
                     sourceFileChanged.size(),
-                    scanner == null ? 0 : (long) scanner.totalTime(TimeUnit.NANOSECONDS),
-                    scanner == null ? 0 : scanner.takeSnapshot().percentileValues()[0].percentile(),
-                    scanner == null ? 0 : (long) scanner.max(TimeUnit.NANOSECONDS),
-                    (long) editor.totalTime(TimeUnit.NANOSECONDS),
-                    editor.takeSnapshot().percentileValues()[0].percentile(),
-                    (long) editor.max(TimeUnit.NANOSECONDS));
+                    scanner == null ? 0 : scanner.total.sum(),
+                    scanner == null ? 0 : scanner.percentile(0.99),
+                    scanner == null ? 0 : scanner.max.get(),
+                    editor.total.sum(),
+                    editor.percentile(0.99),
+                    editor.max.get(),
+                    generator == null ? 0 : generator.total.sum(),
+                    profile ? stats.visitMethods.sum() : null,
+                    profile && Allocation.isSupported() ? stats.allocatedBytes.sum() : null);
             //noinspection DuplicatedCode
             ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
                 //noinspection unchecked
@@ -92,7 +185,149 @@ public void flush(ExecutionContext ctx) {
         }
     }
 
+    /**
+     * Work whose cost is recorded, which only throws the checked exceptions of the work it wraps.
+     */
+    @FunctionalInterface
+    private interface Measured<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private static class RecipeStats {
+        final Timing edit = new Timing();
+        final LongAdder visitMethods = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+
+        /**
+         * Only scanning recipes scan and generate, so these are allocated on first use.
+         */
+        @Nullable
+        volatile Timing scan;
+
+        @Nullable
+        volatile Timing generate;
+
+        Timing scan() {
+            Timing timing = scan;
+            if (timing == null) {
+                synchronized (this) {
+                    timing = scan;
+                    if (timing == null) {
+                        timing = scan = new Timing();
+                    }
+                }
+            }
+            return timing;
+        }
+
+        Timing generate() {
+            Timing timing = generate;
+            if (timing == null) {
+                synchronized (this) {
+                    timing = generate;
+                    if (timing == null) {
+                        timing = generate = new Timing();
+                    }
+                }
+            }
+            return timing;
+        }
+    }
+
+    /**
+     * A log-linear histogram of durations in nanoseconds with a fixed number of buckets, in the style of
+     * HdrHistogram. Each power of two is divided into {@link #SUB_BUCKETS} buckets, so any recorded
+     * value is reported within 1/{@link #SUB_BUCKETS} of its magnitude.
+     */
+    private static class Timing {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        /**
+         * Durations of 2^41 nanoseconds (about 36 minutes) and above share the last bucket.
+         */
+        private static final int MAX_EXPONENT = 41;
+
+        final LongAdder count = new LongAdder();
+        final LongAdder total = new LongAdder();
+        final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        final AtomicLongArray buckets = new AtomicLongArray(bucketIndex(Long.MAX_VALUE) + 1);
+
+        void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+            buckets.incrementAndGet(bucketIndex(nanos));
+        }
+
+        double percentile(double percentile) {
+            long countAtPercentile = (long) Math.ceil(count.sum() * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= countAtPercentile && seen > 0) {
+                    return Math.min(highestValueInBucket(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        private static int bucketIndex(long nanos) {
+            if (nanos < SUB_BUCKETS) {
+                return (int) Math.max(nanos, 0);
+            }
+            int exponent = Math.min(63 - Long.numberOfLeadingZeros(nanos), MAX_EXPONENT);
+            int subBucket = (int) ((nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+            if (exponent == MAX_EXPONENT) {
+                subBucket = SUB_BUCKETS - 1;
+            }
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long highestValueInBucket(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = index % SUB_BUCKETS;
+            long unit = 1L << (exponent - SUB_BUCKET_BITS);
+            return ((SUB_BUCKETS + subBucket) * unit) + unit - 1;
+        }
+    }
+
+    private static class Allocation {
+        @Nullable
+        private static final com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+
+        @Nullable
+        private static com.sun.management.ThreadMXBean threadMXBean() {
+            try {
+                ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean &&
+                    ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                    ((com.sun.management.ThreadMXBean) bean).setThreadAllocatedMemoryEnabled(true);
+                    return (com.sun.management.ThreadMXBean) bean;
+                }
+            } catch (Throwable ignored) {
+                // not available on this JVM
+            }
+            return null;
+        }
+
+        static boolean isSupported() {
+            return threadMXBean != null;
+        }
+
+        /**
+         * @return The bytes allocated so far by the current thread, or -1 if this JVM doesn't measure them.
+         */
+        static long allocatedBytes() {
+            return threadMXBean == null ? -1 : threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
     @Value
+    @AllArgsConstructor
     public static class Row {
         @Column(displayName = "The recipe",
                 description = "The recipe whose stats are being measured both individually and cumulatively.")
@@ -129,5 +364,29 @@ public static class Row {
         @Column(displayName = "Max edit time",
                 description = "The max time editing any one source file.")
         Long editMax;
+
+        @Column(displayName = "Cumulative generate time",
+                description = "The total time spent generating new source files.")
+        @Nullable
+        Long generateTotalTime;
+
+        @Column(displayName = "Visit method count",
+                description = "The number of visit methods called while scanning, generating, and editing. " +
+                              "Only measured when recipes are profiled.")
+        @Nullable
+        Long visitMethods;
+
+        @Column(displayName = "Allocated bytes",
+                description = "The bytes allocated while scanning, generating, and editing. " +
+                              "Only measured when recipes are profiled on a JVM that measures thread allocation.")
+        @Nullable
+        Long allocatedBytes;
+
+        public Row(String recipe, Integer sourceFiles, Integer sourceFilesChanged,
+                   Long scanTotalTime, Double scanP99, Long scanMax,
+                   Long editTotalTime, Double editP99, Long editMax) {
+            this(recipe, sourceFiles, sourceFilesChanged, scanTotalTime, scanP99, scanMax,
+                    editTotalTime, editP99, editMax, null, null, null);
+        }
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.table;
+
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the slowest (source file, recipe) pairs of a recipe run in a min-heap bounded to
+ * {@link #getLimit() a limit}, so that recording a pair that isn't among the slowest costs a
+ * single comparison no matter how many source files are in the run.
+ */
+@Incubating(since = "8.19.0")
+public class SourcesFileCosts extends DataTable<SourcesFileCosts.Row> {
+    public static final int DEFAULT_LIMIT = 100;
+
+    private final int limit;
+    private final PriorityQueue<Row> slowest = new PriorityQueue<>(Comparator.comparingLong(Row::getWallTime));
+
+    /**
+     * The wall time a pair must exceed to be kept once the heap is full.
+     */
+    private volatile long threshold = -1;
+
+    public SourcesFileCosts(Recipe recipe) {
+        this(recipe, DEFAULT_LIMIT);
+    }
+
+    public SourcesFileCosts(Recipe recipe, int limit) {
+        super(recipe, "Source files that were costly to process",
+                "The source file and recipe pairs that took the longest to scan or edit in a recipe run.");
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @param sourceFile   The source file as it was before it was scanned or edited.
+     * @param recipe       The recipe that scanned or edited it.
+     * @param phase        The phase of the recipe run, either "scan" or "edit".
+     * @param wallTime     The time spent in nanoseconds.
+     * @param visitMethods The visit methods called, if they were counted.
+     */
+    public void record(SourceFile sourceFile, Recipe recipe, String phase, long wallTime, @Nullable Long visitMethods) {
+        if (limit <= 0 || wallTime <= threshold) {
+            return;
+        }
+        // only weigh source files that make it into the heap
+        long weight = sourceFile.getWeight(t -> true);
+        Row row = new Row(sourceFile.getSourcePath().toString(), recipe.getName(), phase, wallTime, visitMethods, weight);
+        synchronized (slowest) {
+            if (slowest.size() < limit) {
+                slowest.add(row);
+            } else if (wallTime > slowest.peek().getWallTime()) {
+                slowest.poll();
+                slowest.add(row);
+            }
+            if (slowest.size() == limit) {
+                threshold = slowest.peek().getWallTime();
+            }
+        }
+    }
+
+    public void flush(ExecutionContext ctx) {
+        List<Row> rows;
+        synchronized (slowest) {
+            rows = new ArrayList<>(slowest);
+            slowest.clear();
+            threshold = -1;
+        }
+        rows.sort(Comparator.comparingLong(Row::getWallTime).reversed());
+        for (Row row : rows) {
+            //noinspection DuplicatedCode
+            ctx.computeMessage(ExecutionContext.DATA_TABLES, row, ConcurrentHashMap::new, (extract, allDataTables) -> {
+                //noinspection unchecked
+                List<Row> dataTablesOfType = (List<Row>) allDataTables.computeIfAbsent(this, c -> new ArrayList<>());
+                dataTablesOfType.add(row);
+                return allDataTables;
+            });
+        }
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The source path of the file before it was scanned or edited.")
+        String sourcePath;
+
+        @Column(displayName = "Recipe",
+                description = "The recipe that scanned or edited the source file.")
+        String recipe;
+
+        @Column(displayName = "Phase",
+                description = "Whether the recipe was scanning or editing the source file.")
+        String phase;
+
+        @Column(displayName = "Wall time",
+                description = "The time in nanoseconds the recipe spent on the source file in one cycle.")
+        long wallTime;
+
+        @Column(displayName = "Visit method count",
+                description = "The number of visit methods called. Only measured when recipes are profiled.")
+        @Nullable
+        Long visitMethods;
+
+        @Column(displayName = "Source file weight",
+                description = "The size of the source file's LST, as a count of its tree elements.")
+        long weight;
+    }
+}
@@ -17,15 +17,19 @@
 
 import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.lang.Nullable;
 
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 public class ParsingExecutionContextView extends DelegatingExecutionContext {
     private static final String PARSING_LISTENER = "org.openrewrite.core.parsingListener";
 
     private static final String CHARSET = "org.openrewrite.parser.charset";
 
+    private static final String PRINT_EQUALS_INPUT_SAMPLING = "org.openrewrite.parser.printEqualsInputSampling";
+
     public ParsingExecutionContextView(ExecutionContext delegate) {
         super(delegate);
     }
@@ -55,4 +59,26 @@ public ParsingExecutionContextView setCharset(@Nullable Charset charset) {
     public Charset getCharset() {
         return getMessage(CHARSET);
     }
+
+    /**
+     * Only check that one in this many parsed source files prints back to its input, which otherwise costs about
+     * as much as parsing it. Source files are selected by the hash of their path, so the same source files are
+     * checked on every parse.
+     */
+    @Incubating(since = "8.19.0")
+    public ParsingExecutionContextView setPrintEqualsInputSampling(int oneIn) {
+        putMessage(PRINT_EQUALS_INPUT_SAMPLING, oneIn);
+        return this;
+    }
+
+    @Incubating(since = "8.19.0")
+    public int getPrintEqualsInputSampling() {
+        return getMessage(PRINT_EQUALS_INPUT_SAMPLING, 1);
+    }
+
+    @Incubating(since = "8.19.0")
+    public boolean isPrintEqualsInputSampled(Path sourcePath) {
+        int oneIn = getPrintEqualsInputSampling();
+        return oneIn <= 1 || Math.floorMod(sourcePath.hashCode(), oneIn) == 0;
+    }
 }
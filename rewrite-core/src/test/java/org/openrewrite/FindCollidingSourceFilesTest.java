@@ -16,9 +16,12 @@
 package org.openrewrite;
 
 import org.junit.jupiter.api.Test;
+import org.openrewrite.scheduling.ParallelExecutionContextView;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.openrewrite.test.SourceSpecs.text;
 
 class FindCollidingSourceFilesTest implements RewriteTest {
@@ -37,4 +40,21 @@ void findsCollision() {
           text("", spec -> spec.path("bar.txt"))
         );
     }
+
+    @Test
+    void findsCollisionScanningInParallel() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            rewriteRun(
+              spec -> spec.executionContext(ParallelExecutionContextView.view(new InMemoryExecutionContext())
+                .setScanExecutor(pool)),
+              text("", "~~(Duplicate source file foo.txt)~~>", spec -> spec.path("foo.txt")),
+              text("", spec -> spec.path("bar.txt")),
+              text("", "~~(Duplicate source file foo.txt)~~>", spec -> spec.path("foo.txt")),
+              text("", spec -> spec.path("baz.txt"))
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
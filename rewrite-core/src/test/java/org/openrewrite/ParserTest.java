@@ -16,12 +16,15 @@
 package org.openrewrite;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.text.PlainTextParser;
 import org.openrewrite.tree.ParseError;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -90,4 +93,30 @@ void printIdempotentDiffPrint() {
         int endIndex = startIndex + expectedDiff.length();
         assertThat(parseExceptionResult.getMessage().substring(startIndex, endIndex)).isEqualTo(expectedDiff);
     }
+
+    @Test
+    void printIdempotenceNotCheckedForUnsampledSourceFiles() {
+        Parser parser = new PlainTextParser();
+        ExecutionContext ctx = ParsingExecutionContextView.view(new InMemoryExecutionContext())
+          .setPrintEqualsInputSampling(Integer.MAX_VALUE);
+
+        Path path = Paths.get("1.txt");
+        Parser.Input input = new Parser.Input(path, () -> new ByteArrayInputStream("after".getBytes()));
+        SourceFile sourceFile = parser.parse("before").toList().get(0);
+        assertThat(parser.requirePrintEqualsInput(sourceFile, input, null, ctx)).isSameAs(sourceFile);
+    }
+
+    @Test
+    void fileInputSourceIsReadAgainOnceReleased(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("1.txt");
+        Files.writeString(path, "hello");
+        ExecutionContext ctx = new InMemoryExecutionContext();
+
+        Parser.Input input = Parser.Input.fromFile(path);
+        assertThat(input.getSource(ctx).readFully()).isEqualTo("hello");
+
+        input.releaseSource();
+        Files.writeString(path, "changed");
+        assertThat(input.getSource(ctx).readFully()).isEqualTo("changed");
+    }
 }
@@ -23,6 +23,13 @@
 import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextVisitor;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.test.RewriteTest.toRecipe;
 import static org.openrewrite.test.SourceSpecs.other;
 import static org.openrewrite.test.SourceSpecs.text;
@@ -161,6 +168,35 @@ public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
         );
     }
 
+    @Test
+    void applicabilityDecidesPreconditionWithoutVisiting() {
+        Set<Path> visited = new HashSet<>();
+        class IsA extends TreeVisitor<Tree, ExecutionContext> implements SourceFileApplicability {
+            @Override
+            public String getApplicabilityKey() {
+                return "a.txt";
+            }
+
+            @Override
+            public boolean isApplicable(SourceFile sourceFile) {
+                return sourceFile.getSourcePath().equals(Paths.get("a.txt"));
+            }
+
+            @Override
+            public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                SourceFile sourceFile = (SourceFile) requireNonNull(tree);
+                visited.add(sourceFile.getSourcePath());
+                return isApplicable(sourceFile) ? SearchResult.found(tree) : tree;
+            }
+        }
+        rewriteRun(
+          spec -> spec.recipe(recipe(new IsA())),
+          text("hello", "goodbye", spec -> spec.path("a.txt")),
+          text("hello", spec -> spec.path("b.txt"))
+        );
+        assertThat(visited).isEmpty();
+    }
+
     Recipe recipe(TreeVisitor<?, ExecutionContext> applicability) {
         return toRecipe(() -> Preconditions.check(applicability, new PlainTextVisitor<>() {
             @Override
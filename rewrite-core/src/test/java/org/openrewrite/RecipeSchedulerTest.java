@@ -19,9 +19,12 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.config.DeclarativeRecipe;
+import org.openrewrite.internal.VisitDeadline;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Markup;
+import org.openrewrite.scheduling.ParallelExecutionContextView;
 import org.openrewrite.scheduling.WorkingDirectoryExecutionContextView;
+import org.openrewrite.table.SourcesFileErrors;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextVisitor;
@@ -30,11 +33,15 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
@@ -73,6 +80,126 @@ void exceptionsCauseResult() {
         );
     }
 
+    @Test
+    void parallelEdit() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            rewriteRun(
+              spec -> spec
+                .executionContext(ParallelExecutionContextView.view(new InMemoryExecutionContext())
+                  .setEditExecutor(pool))
+                .recipe(toRecipe(() -> new PlainTextVisitor<>() {
+                    @Override
+                    public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                        return text.getText().startsWith("foo") ? text.withText(text.getText().replace("foo", "bar")) : text;
+                    }
+                })),
+              text("foo1", "bar1", spec -> spec.path("1.txt")),
+              text("foo2", "bar2", spec -> spec.path("2.txt")),
+              text("baz", spec -> spec.path("3.txt")),
+              text("foo4", "bar4", spec -> spec.path("4.txt"))
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void onlyRevisitSourceFilesChangedInPreviousCycle() {
+        CountVisits recipe = new CountVisits(false);
+        rewriteRun(
+          spec -> spec.cycles(2).recipe(recipe).validateRecipeSerialization(false),
+          text("foo", "bar", spec -> spec.path("1.txt")),
+          text("baz", spec -> spec.path("2.txt"))
+        );
+        assertThat(recipe.visits.get("1.txt")).hasValue(2);
+        assertThat(recipe.visits.get("2.txt")).hasValue(1);
+    }
+
+    @Test
+    void revisitUnchangedSourceFilesByDefault() {
+        CountVisits recipe = new CountVisits(true);
+        rewriteRun(
+          spec -> spec.cycles(2).recipe(recipe).validateRecipeSerialization(false),
+          text("foo", "bar", spec -> spec.path("1.txt")),
+          text("baz", spec -> spec.path("2.txt"))
+        );
+        assertThat(recipe.visits.get("1.txt")).hasValue(2);
+        assertThat(recipe.visits.get("2.txt")).hasValue(2);
+    }
+
+    @AllArgsConstructor
+    static class CountVisits extends Recipe {
+        final Map<String, AtomicInteger> visits = new ConcurrentHashMap<>();
+        final boolean revisitsUnchangedSourceFiles;
+
+        @Override
+        public String getDisplayName() {
+            return "Count visits";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Replaces foo with bar and counts the visits to each source file.";
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return true;
+        }
+
+        @Override
+        public boolean revisitsUnchangedSourceFiles() {
+            return revisitsUnchangedSourceFiles;
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new PlainTextVisitor<>() {
+                @Override
+                public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                    visits.computeIfAbsent(text.getSourcePath().toString(), p -> new AtomicInteger()).incrementAndGet();
+                    return text.withText(text.getText().replace("foo", "bar"));
+                }
+            };
+        }
+    }
+
+    @Test
+    void sourceFileTimeout() {
+        AtomicLong nanos = new AtomicLong();
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+        ctx.putMessage(ExecutionContext.SOURCE_FILE_TIMEOUT, Duration.ofMillis(10));
+        VisitDeadline.setClock(nanos::get);
+        try {
+            rewriteRun(
+              spec -> spec
+                .executionContext(ctx)
+                .recipe(toRecipe(() -> new PlainTextVisitor<>() {
+                    @Override
+                    public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                        if ("slow".equals(text.getText())) {
+                            nanos.addAndGet(Duration.ofMillis(100).toNanos());
+                            // the next visit checks the deadline
+                            new PlainTextVisitor<ExecutionContext>().visit(text, ctx);
+                        }
+                        return text.withText("done");
+                    }
+                }))
+                .dataTable(SourcesFileErrors.Row.class, rows -> assertThat(rows)
+                  .singleElement()
+                  .satisfies(row -> {
+                      assertThat(row.getSourcePath()).isEqualTo("slow.txt");
+                      assertThat(row.getStackTrace()).contains("SourceFileTimeoutException");
+                  })),
+              text("slow", spec -> spec.path("slow.txt")),
+              text("fast", "done", spec -> spec.path("fast.txt"))
+            );
+        } finally {
+            VisitDeadline.setClock(null);
+        }
+    }
+
     @Test
     void suppliedWorkingDirectoryRoot(@TempDir Path path) {
         InMemoryExecutionContext ctx = new InMemoryExecutionContext();
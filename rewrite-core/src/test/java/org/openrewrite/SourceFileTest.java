@@ -62,4 +62,15 @@ void isNotPrintEqualForDifferentCharsets() {
           .isFalse();
     }
 
+    @Test
+    void isNotPrintEqualWhenInputIsLonger() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        Parser.Input input = Parser.Input.fromString("äöü");
+        SourceFile sourceFile = PlainText.builder()
+          .text("äö")
+          .build();
+
+        assertThat(sourceFile.printEqualsInput(input, ctx))
+          .isFalse();
+    }
 }
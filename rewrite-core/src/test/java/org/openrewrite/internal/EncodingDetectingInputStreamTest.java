@@ -103,6 +103,23 @@ void iso88591() {
         }
     }
 
+    @Test
+    void bulkReadAgreesWithReadingByteByByte() throws IOException {
+        for (Charset charset : List.of(UTF_8, WINDOWS_1252)) {
+            String text = "import java.util.List;\n".repeat(1000) + "// Café\n";
+            byte[] bytes = text.getBytes(charset);
+
+            EncodingDetectingInputStream byteByByte = new EncodingDetectingInputStream(new ByteArrayInputStream(bytes));
+            //noinspection StatementWithEmptyBody
+            while (byteByByte.read() != -1) {
+            }
+
+            EncodingDetectingInputStream bulk = new EncodingDetectingInputStream(new ByteArrayInputStream(bytes));
+            assertThat(bulk.readFully()).isEqualTo(text);
+            assertThat(bulk.getCharset()).isEqualTo(byteByByte.getCharset()).isEqualTo(charset);
+        }
+    }
+
     private EncodingDetectingInputStream read(String s, Charset charset) {
         EncodingDetectingInputStream is = new EncodingDetectingInputStream(new ByteArrayInputStream(s.getBytes(charset)));
         is.readFully();
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryLargeSourceSetTest {
+    PlainText a = PlainText.builder().sourcePath(Paths.get("a.txt")).text("a").build();
+    PlainText b = PlainText.builder().sourcePath(Paths.get("b.txt")).text("b").build();
+    PlainText c = PlainText.builder().sourcePath(Paths.get("c.txt")).text("c").build();
+
+    @Test
+    void changesetTracksEditsGenerationAndDeletions() {
+        InMemoryLargeSourceSet sourceSet = new InMemoryLargeSourceSet(List.of(a, b, c));
+        sourceSet.setRecipe(List.of(Recipe.noop()));
+
+        PlainText d = PlainText.builder().sourcePath(Paths.get("d.txt")).text("d").build();
+        LargeSourceSet after = sourceSet
+          .edit(s -> s == a ? a.withText("A") : s == b ? null : s)
+          .generate(List.of(d))
+          .edit(s -> s == d ? d.withText("D") : s);
+
+        List<Result> results = after.getChangeset().getAllResults();
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getBefore()).isSameAs(a);
+        assertThat(((PlainText) results.get(0).getAfter()).getText()).isEqualTo("A");
+        assertThat(results.get(1).getBefore()).isNull();
+        assertThat(((PlainText) results.get(1).getAfter()).getText()).isEqualTo("D");
+        assertThat(results.get(2).getBefore()).isSameAs(b);
+        assertThat(results.get(2).getAfter()).isNull();
+    }
+
+    @Test
+    void revertedEditIsNotAChange() {
+        InMemoryLargeSourceSet sourceSet = new InMemoryLargeSourceSet(List.of(a, b));
+        LargeSourceSet after = sourceSet
+          .edit(s -> s == a ? a.withText("A") : s)
+          .edit(s -> s.getSourcePath().equals(a.getSourcePath()) ? a : s);
+        assertThat(after.getChangeset().size()).isZero();
+    }
+
+    @Test
+    void getBefore() {
+        InMemoryLargeSourceSet sourceSet = new InMemoryLargeSourceSet(List.of(a, b));
+        LargeSourceSet after = sourceSet.edit(s -> s == a ? a.withText("A") : s);
+        assertThat(after.getBefore(Paths.get("a.txt"))).isSameAs(a);
+        assertThat(after.getBefore(Paths.get("c.txt"))).isNull();
+    }
+}
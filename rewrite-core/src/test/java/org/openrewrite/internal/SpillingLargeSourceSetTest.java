@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.Changeset;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpillingLargeSourceSetTest {
+
+    @Test
+    void changesetTracksEditsGenerationAndDeletions(@TempDir Path dir) {
+        PlainText a = PlainText.builder().sourcePath(Paths.get("a.txt")).text("a").build();
+        PlainText b = PlainText.builder().sourcePath(Paths.get("b.txt")).text("b").build();
+        PlainText c = PlainText.builder().sourcePath(Paths.get("c.txt")).text("c").build();
+
+        try (SpillingLargeSourceSet sourceSet = new SpillingLargeSourceSet(List.of(a, b, c), dir, new InMemoryExecutionContext())) {
+            assertThat(sourceSet.getBefore(Paths.get("b.txt")))
+              .isInstanceOfSatisfying(PlainText.class, before -> assertThat(before.getText()).isEqualTo("b"));
+            assertThat(sourceSet.getBefore(Paths.get("d.txt"))).isNull();
+
+            sourceSet.setRecipe(List.of(Recipe.noop()));
+            LargeSourceSet after = sourceSet
+              .edit(s -> {
+                  PlainText text = (PlainText) s;
+                  if (text.getText().equals("a")) {
+                      return text.withText("A");
+                  }
+                  return text.getText().equals("b") ? null : text;
+              })
+              .generate(List.of(PlainText.builder().sourcePath(Paths.get("d.txt")).text("d").build()));
+
+            List<Result> results = after.getChangeset().getAllResults();
+            assertThat(results).hasSize(3);
+            assertThat(results.get(0).getBefore()).extracting(SourceFile::getSourcePath).isEqualTo(Paths.get("a.txt"));
+            assertThat(results.get(0).getAfter()).extracting(s -> ((PlainText) s).getText()).isEqualTo("A");
+            assertThat(results.get(1).getBefore()).isNull();
+            assertThat(results.get(2).getBefore()).extracting(SourceFile::getSourcePath).isEqualTo(Paths.get("b.txt"));
+            assertThat(results.get(2).getAfter()).isNull();
+
+            assertThat(after.edit(s -> s)).isSameAs(after);
+        }
+    }
+
+    @Test
+    void changesetPagesReadBackOnlyTheirOriginals(@TempDir Path dir) {
+        List<PlainText> sourceFiles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sourceFiles.add(PlainText.builder().sourcePath(Paths.get(i + ".txt")).text(Integer.toString(i)).build());
+        }
+
+        try (SpillingLargeSourceSet sourceSet = new SpillingLargeSourceSet(sourceFiles, dir, new InMemoryExecutionContext())) {
+            sourceSet.setRecipe(List.of(Recipe.noop()));
+            Changeset changeset = sourceSet.edit(s -> ((PlainText) s).withText(((PlainText) s).getText() + "!")).getChangeset();
+
+            assertThat(changeset.size()).isEqualTo(5);
+            assertThat(changeset.getPage(1, 2))
+              .extracting(r -> ((PlainText) r.getBefore()).getText(), r -> ((PlainText) r.getAfter()).getText())
+              .containsExactly(tuple("1", "1!"), tuple("2", "2!"));
+            assertThat(changeset.getPage(4, 10)).hasSize(1);
+            assertThat(sourceSet.getBefore(Paths.get("3.txt"))).isSameAs(sourceSet.getBefore(Paths.get("3.txt")));
+        }
+    }
+
+    @Test
+    void reportsSourceFileThatCannotBeReadBack(@TempDir Path dir) throws IOException {
+        PlainText a = PlainText.builder().sourcePath(Paths.get("a.txt")).text("a").build();
+        List<Throwable> errors = new ArrayList<>();
+
+        try (SpillingLargeSourceSet sourceSet = new SpillingLargeSourceSet(List.of(a), dir, new InMemoryExecutionContext(errors::add))) {
+            try (var store = Files.list(dir)) {
+                Files.write(store.findFirst().orElseThrow(), new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+            }
+
+            List<SourceFile> visited = new ArrayList<>();
+            LargeSourceSet after = sourceSet.edit(s -> {
+                visited.add(s);
+                return s;
+            });
+            sourceSet.edit(s -> s);
+
+            assertThat(visited).isEmpty();
+            assertThat(after.getChangeset().getAllResults()).isEmpty();
+            assertThat(errors).singleElement()
+              .satisfies(e -> assertThat(e).hasMessageContaining("a.txt"));
+        }
+    }
+}
@@ -89,4 +89,22 @@ void singleRow() {
           text("samuel", "sam")
         );
     }
+
+    @Test
+    void profile() {
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+        ctx.putMessage(ExecutionContext.PROFILE_RECIPES, true);
+        rewriteRun(
+          spec -> spec.executionContext(ctx).dataTable(RecipeRunStats.Row.class, rows -> {
+              assertThat(rows).hasSize(1);
+              RecipeRunStats.Row row = rows.get(0);
+              assertThat(row.getEditP99()).isGreaterThan(0).isLessThanOrEqualTo(row.getEditMax());
+              assertThat(row.getVisitMethods())
+                .as("The precondition and the edit each visit the plain text")
+                .isGreaterThanOrEqualTo(2);
+              assertThat(row.getAllocatedBytes()).isGreaterThan(0);
+          }),
+          text("samuel", "sam")
+        );
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.table;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.text.PlainText;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourcesFileCostsTest {
+
+    @Test
+    void keepsSlowestPairs() {
+        SourcesFileCosts costs = new SourcesFileCosts(Recipe.noop(), 2);
+        Recipe recipe = Recipe.noop();
+        long[] wallTimes = {30, 10, 50, 20, 40};
+        for (int i = 0; i < wallTimes.length; i++) {
+            PlainText text = PlainText.builder().sourcePath(Paths.get(i + ".txt")).text("text").build();
+            costs.record(text, recipe, "edit", wallTimes[i], null);
+        }
+
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        costs.flush(ctx);
+        Map<DataTable<?>, List<?>> dataTables = ctx.getMessage(ExecutionContext.DATA_TABLES);
+        //noinspection unchecked
+        List<SourcesFileCosts.Row> rows = (List<SourcesFileCosts.Row>) dataTables.get(costs);
+        assertThat(rows).extracting(SourcesFileCosts.Row::getSourcePath).containsExactly("2.txt", "4.txt");
+        assertThat(rows).extracting(SourcesFileCosts.Row::getWallTime).containsExactly(50L, 40L);
+        assertThat(rows).allSatisfy(row -> assertThat(row.getWeight()).isGreaterThan(0));
+    }
+}
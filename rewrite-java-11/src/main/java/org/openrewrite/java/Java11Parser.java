@@ -84,12 +84,12 @@ public Java11Parser build() {
 
                 Constructor<?> parserConstructor = parserImplementation
                         .getDeclaredConstructor(Boolean.TYPE, Collection.class, Collection.class, Collection.class, Charset.class,
-                                Collection.class, JavaTypeCache.class);
+                                Collection.class, JavaTypeCache.class, Integer.TYPE, Integer.TYPE, Long.TYPE);
 
                 parserConstructor.setAccessible(true);
 
                 JavaParser delegate = (JavaParser) parserConstructor
-                        .newInstance(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache);
+                        .newInstance(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache, parallelism, batchSize, batchBytes);
 
                 return new Java11Parser(delegate);
             } catch (Exception e) {
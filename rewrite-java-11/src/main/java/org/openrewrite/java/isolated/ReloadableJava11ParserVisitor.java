@@ -83,6 +83,7 @@ public class ReloadableJava11ParserVisitor extends TreePathScanner<J, Space> {
     private final Collection<NamedStyles> styles;
     private final ExecutionContext ctx;
     private final Context context;
+    private final JavaTypeCache typeCache;
     private final ReloadableJava11TypeMapping typeMapping;
 
     @SuppressWarnings("NotNullFieldNotInitialized")
@@ -110,7 +111,8 @@ public ReloadableJava11ParserVisitor(Path sourcePath,
         this.styles = styles;
         this.ctx = ctx;
         this.context = context;
-        this.typeMapping = new ReloadableJava11TypeMapping(typeCache);
+        this.typeCache = typeCache.forCompilationUnit();
+        this.typeMapping = new ReloadableJava11TypeMapping(this.typeCache);
     }
 
     @Override
@@ -478,7 +480,7 @@ public J visitCompilationUnit(CompilationUnitTree node, Space fmt) {
             packageDecl = new J.Package(randomId(), packagePrefix, Markers.EMPTY,
                     convert(cu.getPackageName()), packageAnnotations);
         }
-        return new J.CompilationUnit(
+        J.CompilationUnit compilationUnit = new J.CompilationUnit(
                 randomId(),
                 fmt,
                 Markers.build(styles),
@@ -492,6 +494,9 @@ public J visitCompilationUnit(CompilationUnitTree node, Space fmt) {
                 convertAll(node.getTypeDecls().stream().filter(JCClassDecl.class::isInstance).collect(toList())),
                 format(source.substring(cursor))
         );
+        // every type of the compilation unit is now completely mapped
+        typeCache.flush();
+        return compilationUnit;
     }
 
     @Override
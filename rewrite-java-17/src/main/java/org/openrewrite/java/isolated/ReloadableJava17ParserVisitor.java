@@ -88,6 +88,7 @@ public class ReloadableJava17ParserVisitor extends TreePathScanner<J, Space> {
     private final Collection<NamedStyles> styles;
     private final ExecutionContext ctx;
     private final Context context;
+    private final JavaTypeCache typeCache;
     private final ReloadableJava17TypeMapping typeMapping;
 
     @SuppressWarnings("NotNullFieldNotInitialized")
@@ -115,7 +116,8 @@ public ReloadableJava17ParserVisitor(Path sourcePath,
         this.styles = styles;
         this.ctx = ctx;
         this.context = context;
-        this.typeMapping = new ReloadableJava17TypeMapping(typeCache);
+        this.typeCache = typeCache.forCompilationUnit();
+        this.typeMapping = new ReloadableJava17TypeMapping(this.typeCache);
     }
 
     @Override
@@ -538,7 +540,7 @@ public J visitCompilationUnit(CompilationUnitTree node, Space fmt) {
             packageDecl = new J.Package(randomId(), packagePrefix, Markers.EMPTY,
                     convert(cu.getPackageName()), packageAnnotations);
         }
-        return new J.CompilationUnit(
+        J.CompilationUnit compilationUnit = new J.CompilationUnit(
                 randomId(),
                 fmt,
                 Markers.build(styles),
@@ -552,6 +554,9 @@ public J visitCompilationUnit(CompilationUnitTree node, Space fmt) {
                 convertAll(node.getTypeDecls().stream().filter(JCClassDecl.class::isInstance).collect(toList())),
                 format(source, cursor, source.length())
         );
+        // every type of the compilation unit is now completely mapped
+        typeCache.flush();
+        return compilationUnit;
     }
 
     @Override
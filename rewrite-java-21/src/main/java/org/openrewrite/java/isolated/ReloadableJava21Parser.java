@@ -16,8 +16,10 @@
 package org.openrewrite.java.isolated;
 
 import com.sun.tools.javac.comp.Annotate;
+import com.sun.tools.javac.comp.AttrContext;
 import com.sun.tools.javac.comp.Check;
 import com.sun.tools.javac.comp.Enter;
+import com.sun.tools.javac.comp.Env;
 import com.sun.tools.javac.comp.Modules;
 import com.sun.tools.javac.file.JavacFileManager;
 import com.sun.tools.javac.main.JavaCompiler;
@@ -36,6 +38,8 @@
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaParsingException;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
+import org.openrewrite.java.internal.JavaSourcePartitions;
 import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
@@ -44,6 +48,7 @@
 import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 
+import javax.tools.ForwardingJavaFileObject;
 import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.SimpleJavaFileObject;
@@ -53,10 +58,18 @@
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -72,23 +85,49 @@ public class ReloadableJava21Parser implements JavaParser {
     @Nullable
     private final Collection<Input> dependsOn;
 
-    private final JavacFileManager pfm;
+    private final ByteArrayCapableJavacFileManager pfm;
     private final Context context;
     private final JavaCompiler compiler;
     private final ResettableLog compilerLog;
     private final Collection<NamedStyles> styles;
 
+    private final int parallelism;
+    private final int batchSize;
+    private final long batchBytes;
+    private final Supplier<ReloadableJava21Parser> workerFactory;
+
+    /**
+     * Parsers with their own javac context that attribute the other partitions of the source files
+     * when parsing in parallel, created on first use.
+     */
+    private final List<ReloadableJava21Parser> workers = new ArrayList<>();
+
+    /**
+     * The threads that parse partitions in parallel, created on first use. Idle threads time out,
+     * so a parser that is no longer used holds on to none.
+     */
+    @Nullable
+    private ExecutorService partitionExecutor;
+
     private ReloadableJava21Parser(boolean logCompilationWarningsAndErrors,
                                    @Nullable Collection<Path> classpath,
                                    Collection<byte[]> classBytesClasspath,
                                    @Nullable Collection<Input> dependsOn,
                                    Charset charset,
                                    Collection<NamedStyles> styles,
-                                   JavaTypeCache typeCache) {
+                                   JavaTypeCache typeCache,
+                                   int parallelism,
+                                   int batchSize,
+                                   long batchBytes) {
         this.classpath = classpath;
         this.dependsOn = dependsOn;
         this.styles = styles;
         this.typeCache = typeCache;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.batchBytes = batchBytes;
+        this.workerFactory = () -> new ReloadableJava21Parser(logCompilationWarningsAndErrors, this.classpath,
+                classBytesClasspath, dependsOn, charset, styles, typeCache.clone(), 1, 0, 0);
 
         this.context = new Context();
         this.compilerLog = new ResettableLog(context);
@@ -147,31 +186,126 @@ public static Builder builder() {
 
     @Override
     public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
-        ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
+        if (parallelism > 1) {
+            return parseInputsInParallel(sourceFiles, relativeTo, ctx);
+        } else if (batchSize > 0 || batchBytes > 0) {
+            return parseInputsInBatches(sourceFiles, relativeTo, ctx);
+        }
         LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = parseInputsToCompilerAst(sourceFiles, ctx);
-        return cus.entrySet().stream().map(cuByPath -> {
-            Input input = cuByPath.getKey();
-            parsingListener.startedParsing(input);
-            try {
-                ReloadableJava21ParserVisitor parser = new ReloadableJava21ParserVisitor(
-                        input.getRelativePath(relativeTo),
-                        input.getFileAttributes(),
-                        input.getSource(ctx),
-                        styles,
-                        typeCache,
-                        ctx,
-                        context
-                );
-
-                J.CompilationUnit cu = (J.CompilationUnit) parser.scan(cuByPath.getValue(), Space.EMPTY);
-                cuByPath.setValue(null); // allow memory used by this JCCompilationUnit to be released
-                parsingListener.parsed(input, cu);
-                return requirePrintEqualsInput(cu, input, relativeTo, ctx);
-            } catch (Throwable t) {
-                ctx.getOnError().accept(t);
-                return ParseError.build(this, input, relativeTo, ctx, t);
+        return cus.entrySet().stream().map(cuByPath -> mapToLst(cuByPath, relativeTo, ctx));
+    }
+
+    private SourceFile mapToLst(Map.Entry<Input, JCTree.JCCompilationUnit> cuByPath, @Nullable Path relativeTo, ExecutionContext ctx) {
+        ParsingEventListener parsingListener = ParsingExecutionContextView.view(ctx).getParsingListener();
+        Input input = cuByPath.getKey();
+        parsingListener.startedParsing(input);
+        try {
+            ReloadableJava21ParserVisitor parser = new ReloadableJava21ParserVisitor(
+                    input.getRelativePath(relativeTo),
+                    input.getFileAttributes(),
+                    input.getSource(ctx),
+                    styles,
+                    typeCache,
+                    ctx,
+                    context
+            );
+
+            J.CompilationUnit cu = (J.CompilationUnit) parser.scan(cuByPath.getValue(), Space.EMPTY);
+            cuByPath.setValue(null); // allow memory used by this JCCompilationUnit to be released
+            parsingListener.parsed(input, cu);
+            return requirePrintEqualsInput(cu, input, relativeTo, ctx);
+        } catch (Throwable t) {
+            ctx.getOnError().accept(t);
+            return ParseError.build(this, input, relativeTo, ctx, t);
+        }
+    }
+
+    /**
+     * Each javac context parses, attributes and maps the source files of its own partition. When it resolves a
+     * reference to a class of another partition, it reads and enters just the source file declaring it, which
+     * is not attributed or mapped.
+     */
+    private Stream<SourceFile> parseInputsInParallel(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
+        List<Input> inputs = acceptedInputs(sourceFiles).collect(toList());
+        List<List<Input>> partitions = JavaSourcePartitions.byPackage(inputs, parallelism);
+        if (partitions.size() < 2) {
+            LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = parseInputsToCompilerAst(inputs, ctx);
+            return cus.entrySet().stream().map(cuByPath -> mapToLst(cuByPath, relativeTo, ctx));
+        }
+
+        while (workers.size() < partitions.size() - 1) {
+            workers.add(workerFactory.get());
+        }
+        ExecutorService executor = partitionExecutor();
+        try {
+            List<Future<Map<Input, SourceFile>>> parsed = new ArrayList<>(partitions.size());
+            for (int i = 0; i < partitions.size(); i++) {
+                ReloadableJava21Parser parser = i == 0 ? this : workers.get(i - 1);
+                List<Input> partition = partitions.get(i);
+                List<Input> otherPartitions = new ArrayList<>(inputs.size() - partition.size());
+                for (List<Input> other : partitions) {
+                    if (other != partition) {
+                        otherPartitions.addAll(other);
+                    }
+                }
+                parsed.add(executor.submit(() -> parser.parsePartition(partition, otherPartitions, relativeTo, ctx)));
             }
-        });
+            Map<Input, SourceFile> sourceFilesByInput = new IdentityHashMap<>();
+            for (Future<Map<Input, SourceFile>> partition : parsed) {
+                sourceFilesByInput.putAll(partition.get());
+            }
+            return inputs.stream().map(sourceFilesByInput::get);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing in parallel", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to parse in parallel", e.getCause());
+        }
+    }
+
+    private ExecutorService partitionExecutor() {
+        if (partitionExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "rewrite-java-parser");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            partitionExecutor = executor;
+        }
+        return partitionExecutor;
+    }
+
+    /**
+     * Only the javac trees of one batch are held at a time, and they are released by resetting the compiler
+     * before the next batch is parsed. The symbols they entered stay in the symbol table.
+     */
+    private Stream<SourceFile> parseInputsInBatches(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
+        Iterator<List<Input>> batches = JavaSourcePartitions.inBatches(acceptedInputs(sourceFiles).iterator(), batchSize, batchBytes);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .flatMap(batch -> {
+                    List<SourceFile> parsed = new ArrayList<>(batch.size());
+                    for (Map.Entry<Input, JCTree.JCCompilationUnit> cuByPath : parseInputsToCompilerAst(batch, ctx).entrySet()) {
+                        parsed.add(mapToLst(cuByPath, relativeTo, ctx));
+                    }
+                    reset(batch.stream().map(input -> input.getPath().toUri()).collect(toList()));
+                    return parsed.stream();
+                });
+    }
+
+    private Map<Input, SourceFile> parsePartition(List<Input> partition, List<Input> otherPartitions,
+                                                  @Nullable Path relativeTo, ExecutionContext ctx) {
+        pfm.setImplicitSources(otherPartitions, ctx);
+        try {
+            Map<Input, SourceFile> parsed = new IdentityHashMap<>();
+            for (Map.Entry<Input, JCTree.JCCompilationUnit> cuByPath : parseInputsToCompilerAst(partition, ctx).entrySet()) {
+                parsed.put(cuByPath.getKey(), mapToLst(cuByPath, relativeTo, ctx));
+            }
+            return parsed;
+        } finally {
+            pfm.setImplicitSources(Collections.emptyList(), ctx);
+        }
     }
 
     LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable<Input> sourceFiles, ExecutionContext ctx) {
@@ -214,7 +348,21 @@ LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable
                 annotate.unblockAnnotations(); // also flushes once unblocked
             }
 
-            compiler.attribute(compiler.todo);
+            if (pfm.hasImplicitSources()) {
+                // source files of other partitions that were read to resolve references are not attributed
+                Set<JCTree.JCCompilationUnit> parsed = Collections.newSetFromMap(new IdentityHashMap<>());
+                parsed.addAll(cus.values());
+                Queue<Env<AttrContext>> envs = new ArrayDeque<>();
+                while (!compiler.todo.isEmpty()) {
+                    Env<AttrContext> env = compiler.todo.remove();
+                    if (parsed.contains(env.toplevel)) {
+                        envs.add(env);
+                    }
+                }
+                compiler.attribute(envs);
+            } else {
+                compiler.attribute(compiler.todo);
+            }
         } catch (
                 Throwable t) {
             // when symbol entering fails on problems like missing types, attribution can often times proceed
@@ -226,7 +374,10 @@ LinkedHashMap<Input, JCTree.JCCompilationUnit> parseInputsToCompilerAst(Iterable
 
     @Override
     public ReloadableJava21Parser reset() {
-        typeCache.clear();
+        if (!(typeCache instanceof ConcurrentJavaTypeCache)) {
+            // a concurrent type cache is shared with other parsers, so it is not this parser's to clear
+            typeCache.clear();
+        }
         compilerLog.reset();
         pfm.flush();
         Check.instance(context).newRound();
@@ -234,6 +385,7 @@ public ReloadableJava21Parser reset() {
         Enter.instance(context).newRound();
         Modules.instance(context).newRound();
         compileDependencies();
+        workers.forEach(ReloadableJava21Parser::reset);
         return this;
     }
 
@@ -247,19 +399,25 @@ public JavaParser reset(Collection<URI> uris) {
         Annotate.instance(context).newRound();
         Enter.instance(context).newRound();
         Modules.instance(context).newRound();
+        for (ReloadableJava21Parser worker : workers) {
+            worker.reset(uris);
+        }
         return this;
     }
 
     @Override
     public void setClasspath(Collection<Path> classpath) {
         this.classpath = classpath;
+        for (ReloadableJava21Parser worker : workers) {
+            worker.setClasspath(classpath);
+        }
     }
 
     private void compileDependencies() {
         if (dependsOn != null) {
             InMemoryExecutionContext ctx = new InMemoryExecutionContext();
             ctx.putMessage("org.openrewrite.java.skipSourceSetMarker", true);
-            parseInputs(dependsOn, null, ctx);
+            parseInputsToCompilerAst(dependsOn, ctx);
         }
         Modules.instance(context).newRound();
     }
@@ -302,13 +460,22 @@ public void reset(Collection<URI> uris) {
     public static class Builder extends JavaParser.Builder<ReloadableJava21Parser, Builder> {
         @Override
         public ReloadableJava21Parser build() {
-            return new ReloadableJava21Parser(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache);
+            return new ReloadableJava21Parser(logCompilationWarningsAndErrors, resolvedClasspath(), classBytesClasspath, dependsOn, charset, styles, javaTypeCache, parallelism, batchSize, batchBytes);
         }
     }
 
     private static class ByteArrayCapableJavacFileManager extends JavacFileManager {
         private final List<PackageAwareJavaFileObject> classByteClasspath;
 
+        /**
+         * Source files of other partitions by directory, listed for the package whose name matches the end
+         * of their directory, so that javac reads one when it resolves a reference to a class it declares.
+         */
+        private Map<Path, List<Input>> implicitSources = Collections.emptyMap();
+
+        @Nullable
+        private ExecutionContext implicitSourcesCtx;
+
         public ByteArrayCapableJavacFileManager(Context context,
                                                 boolean register,
                                                 Charset charset,
@@ -319,10 +486,28 @@ public ByteArrayCapableJavacFileManager(Context context,
                     .collect(toList());
         }
 
+        void setImplicitSources(List<Input> inputs, ExecutionContext ctx) {
+            Map<Path, List<Input>> byDirectory = new HashMap<>();
+            for (Input input : inputs) {
+                Path directory = input.getPath().getParent();
+                if (directory != null) {
+                    byDirectory.computeIfAbsent(directory, d -> new ArrayList<>()).add(input);
+                }
+            }
+            this.implicitSources = byDirectory;
+            this.implicitSourcesCtx = ctx;
+        }
+
+        boolean hasImplicitSources() {
+            return !implicitSources.isEmpty();
+        }
+
         @Override
         public String inferBinaryName(Location location, JavaFileObject file) {
             if (file instanceof PackageAwareJavaFileObject) {
                 return ((PackageAwareJavaFileObject) file).getClassName();
+            } else if (file instanceof ImplicitSourceFileObject) {
+                return ((ImplicitSourceFileObject) file).getBinaryName();
             }
             return super.inferBinaryName(location, file);
         }
@@ -331,6 +516,9 @@ public String inferBinaryName(Location location, JavaFileObject file) {
         public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
             if (StandardLocation.CLASS_PATH.equals(location)) {
                 Iterable<JavaFileObject> listed = super.list(location, packageName, kinds, recurse);
+                if (!implicitSources.isEmpty() && !packageName.isEmpty() && kinds.contains(JavaFileObject.Kind.SOURCE)) {
+                    listed = withImplicitSources(listed, packageName);
+                }
                 return classByteClasspath.isEmpty() ? listed
                         : Stream.concat(classByteClasspath.stream()
                                 .filter(jfo -> jfo.getPackage().equals(packageName)),
@@ -339,6 +527,37 @@ public Iterable<JavaFileObject> list(Location location, String packageName, Set<
             }
             return super.list(location, packageName, kinds, recurse);
         }
+
+        private Iterable<JavaFileObject> withImplicitSources(Iterable<JavaFileObject> listed, String packageName) {
+            String[] packagePath = packageName.split("\\.");
+            List<JavaFileObject> withImplicitSources = new ArrayList<>();
+            listed.forEach(withImplicitSources::add);
+            for (Map.Entry<Path, List<Input>> directory : implicitSources.entrySet()) {
+                if (directory.getKey().endsWith(directory.getKey().getFileSystem().getPath(packagePath[0],
+                        Arrays.copyOfRange(packagePath, 1, packagePath.length)))) {
+                    for (Input input : directory.getValue()) {
+                        String fileName = input.getPath().getFileName().toString();
+                        withImplicitSources.add(new ImplicitSourceFileObject(
+                                new ReloadableJava21ParserInputFileObject(input, requireNonNull(implicitSourcesCtx)),
+                                packageName + "." + fileName.substring(0, fileName.length() - ".java".length())));
+                    }
+                }
+            }
+            return withImplicitSources;
+        }
+    }
+
+    private static class ImplicitSourceFileObject extends ForwardingJavaFileObject<JavaFileObject> {
+        private final String binaryName;
+
+        private ImplicitSourceFileObject(JavaFileObject sourceFile, String binaryName) {
+            super(sourceFile);
+            this.binaryName = binaryName;
+        }
+
+        public String getBinaryName() {
+            return binaryName;
+        }
     }
 
     private static class PackageAwareJavaFileObject extends SimpleJavaFileObject {
@@ -32,7 +32,9 @@
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
@@ -45,12 +47,29 @@ class ReloadableJava21TypeMapping implements JavaTypeMapping<Tree> {
 
     private final JavaTypeCache typeCache;
 
+    /**
+     * Javac types and symbols already mapped in this compilation unit. Most are referred to many times,
+     * and looking them up by identity avoids building their signature to find them in the type cache.
+     */
+    private final Map<Type, JavaType> typesByIdentity = new IdentityHashMap<>();
+    private final Map<Symbol, JavaType.Variable> variablesBySymbol = new IdentityHashMap<>();
+    private final Map<Symbol, JavaType.Method> methodDeclarationsBySymbol = new IdentityHashMap<>();
+
     public JavaType type(@Nullable com.sun.tools.javac.code.Type type) {
         if (type == null || type instanceof Type.ErrorType || type instanceof Type.PackageType || type instanceof Type.UnknownType ||
                 type instanceof NullType) {
             return JavaType.Class.Unknown.getInstance();
         }
 
+        JavaType mapped = typesByIdentity.get(type);
+        if (mapped == null) {
+            mapped = mapType(type);
+            typesByIdentity.put(type, mapped);
+        }
+        return mapped;
+    }
+
+    private JavaType mapType(Type type) {
         String signature = signatureBuilder.signature(type);
         JavaType existing = typeCache.get(signature);
         if (existing != null) {
@@ -426,9 +445,15 @@ private JavaType.Variable variableType(@Nullable Symbol symbol,
             return null;
         }
 
+        JavaType.Variable mapped = variablesBySymbol.get(symbol);
+        if (mapped != null) {
+            return mapped;
+        }
+
         String signature = signatureBuilder.variableSignature(symbol);
         JavaType.Variable existing = typeCache.get(signature);
         if (existing != null) {
+            variablesBySymbol.put(symbol, existing);
             return existing;
         }
 
@@ -439,6 +464,7 @@ private JavaType.Variable variableType(@Nullable Symbol symbol,
                 null, null, null);
 
         typeCache.put(signature, variable);
+        variablesBySymbol.put(symbol, variable);
 
         JavaType resolvedOwner = owner;
         if (owner == null) {
@@ -576,9 +602,15 @@ public JavaType.Method methodDeclarationType(@Nullable Symbol symbol, @Nullable
         Symbol.MethodSymbol methodSymbol = symbol instanceof Symbol.MethodSymbol ? (Symbol.MethodSymbol) symbol : null;
 
         if (methodSymbol != null) {
+            JavaType.Method mapped = methodDeclarationsBySymbol.get(methodSymbol);
+            if (mapped != null) {
+                return mapped;
+            }
+
             String signature = signatureBuilder.methodSignature(methodSymbol);
             JavaType.Method existing = typeCache.get(signature);
             if (existing != null) {
+                methodDeclarationsBySymbol.put(methodSymbol, existing);
                 return existing;
             }
 
@@ -613,6 +645,7 @@ public JavaType.Method methodDeclarationType(@Nullable Symbol symbol, @Nullable
                     defaultValues
             );
             typeCache.put(signature, method);
+            methodDeclarationsBySymbol.put(methodSymbol, method);
 
             Type signatureType = methodSymbol.type instanceof Type.ForAll ?
                     ((Type.ForAll) methodSymbol.type).qtype :
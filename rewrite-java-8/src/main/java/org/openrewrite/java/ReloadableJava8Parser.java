@@ -33,6 +33,7 @@
 import org.openrewrite.internal.MetricsHelper;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
 import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
@@ -202,7 +203,10 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sourceFiles, @Nullable Pat
 
     @Override
     public ReloadableJava8Parser reset() {
-        typeCache.clear();
+        if (!(typeCache instanceof ConcurrentJavaTypeCache)) {
+            // a concurrent type cache is shared with other parsers, so it is not this parser's to clear
+            typeCache.clear();
+        }
         compilerLog.reset();
         pfm.flush();
         compileDependencies();
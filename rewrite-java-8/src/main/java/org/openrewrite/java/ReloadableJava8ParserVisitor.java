@@ -81,6 +81,7 @@ public class ReloadableJava8ParserVisitor extends TreePathScanner<J, Space> {
     private final Collection<NamedStyles> styles;
     private final ExecutionContext ctx;
     private final Context context;
+    private final JavaTypeCache typeCache;
     private final ReloadableJava8TypeMapping typeMapping;
 
     @SuppressWarnings("NotNullFieldNotInitialized")
@@ -108,7 +109,8 @@ public ReloadableJava8ParserVisitor(Path sourcePath,
         this.styles = styles;
         this.ctx = ctx;
         this.context = context;
-        this.typeMapping = new ReloadableJava8TypeMapping(typeCache);
+        this.typeCache = typeCache.forCompilationUnit();
+        this.typeMapping = new ReloadableJava8TypeMapping(this.typeCache);
     }
 
     @Override
@@ -478,7 +480,7 @@ public J visitCompilationUnit(CompilationUnitTree node, Space fmt) {
                     convert(cu.getPackageName()), packageAnnotations);
         }
 
-        return new J.CompilationUnit(
+        J.CompilationUnit compilationUnit = new J.CompilationUnit(
                 randomId(),
                 fmt,
                 Markers.build(styles),
@@ -492,6 +494,9 @@ public J visitCompilationUnit(CompilationUnitTree node, Space fmt) {
                 convertAll(node.getTypeDecls().stream().filter(JCClassDecl.class::isInstance).collect(toList())),
                 format(source.substring(cursor))
         );
+        // every type of the compilation unit is now completely mapped
+        typeCache.flush();
+        return compilationUnit;
     }
 
     @Override
@@ -25,13 +25,20 @@
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
 import org.openrewrite.SourceFile;
+import org.openrewrite.java.internal.ConcurrentJavaTypeCache;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RewriteTest;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -157,4 +164,90 @@ void shouldResolvePathUsingPublicClasses(@Language("java") String source) {
           )
         );
     }
+
+    @Test
+    void parseInParallel() {
+        JavaParser parser = JavaParser.fromJavaVersion()
+          .typeCache(new ConcurrentJavaTypeCache(10_000))
+          .parallelism(2)
+          .build();
+
+        List<SourceFile> sourceFiles = parser.parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+          """
+            package a;
+            public class A {
+                public b.B b() { return new b.B(); }
+            }
+            """,
+          """
+            package b;
+            public class B {
+                public a.A a() { return new a.A(); }
+            }
+            """
+        ).toList();
+
+        assertThat(sourceFiles).satisfiesExactly(
+          a -> assertThat(((J.CompilationUnit) a).getClasses().get(0).getType()).hasToString("a.A"),
+          b -> assertThat(((J.CompilationUnit) b).getClasses().get(0).getType()).hasToString("b.B")
+        );
+        assertThat(TypeUtils.asFullyQualified(((J.CompilationUnit) sourceFiles.get(0)).getClasses().get(0)
+          .getBody().getStatements().stream()
+          .map(J.MethodDeclaration.class::cast)
+          .findFirst().orElseThrow().getReturnTypeExpression().getType())).hasToString("b.B");
+    }
+
+    @Test
+    void typesMappedOnOtherThreadsAreComplete() throws Exception {
+        ConcurrentJavaTypeCache typeCache = new ConcurrentJavaTypeCache(10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<J.CompilationUnit>> parsed = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String source = """
+                  import java.util.concurrent.ConcurrentHashMap;
+                  class T%d extends ConcurrentHashMap<String, %s> {
+                  }
+                  """.formatted(i, i % 2 == 0 ? "java.util.ArrayList<String>" : "java.util.LinkedList<String>");
+                parsed.add(executor.submit(() -> (J.CompilationUnit) JavaParser.fromJavaVersion()
+                  .typeCache(typeCache)
+                  .build()
+                  .parse(new InMemoryExecutionContext(Throwable::printStackTrace), source)
+                  .findFirst()
+                  .orElseThrow()));
+            }
+            for (Future<J.CompilationUnit> cu : parsed) {
+                JavaType.FullyQualified supertype = cu.get().getClasses().get(0).getType().getSupertype();
+                assertThat(supertype).isNotNull();
+                assertThat(supertype.getSupertype().getFullyQualifiedName()).isEqualTo("java.util.AbstractMap");
+                assertThat(supertype.getMethods()).isNotEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void parseInBatches() {
+        JavaParser parser = JavaParser.fromJavaVersion()
+          .batchSize(1)
+          .build();
+
+        List<SourceFile> sourceFiles = parser.parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+          """
+            package a;
+            public class A {
+            }
+            """,
+          """
+            package b;
+            public class B extends a.A {
+            }
+            """
+        ).toList();
+
+        assertThat(sourceFiles).hasSize(2);
+        assertThat(((J.CompilationUnit) sourceFiles.get(1)).getClasses().get(0).getType().getSupertype())
+          .hasToString("a.A");
+    }
 }
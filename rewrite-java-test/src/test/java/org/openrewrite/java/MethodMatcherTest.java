@@ -448,4 +448,48 @@ public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Ob
           )
         );
     }
+
+    @Test
+    void matchesLiteralParameterTypesWithoutArgumentPattern() {
+        rewriteRun(
+          java(
+            """
+              import java.util.Map;
+              class Test {
+                  void foo(String s, Object... args) {}
+                  void bar(Map.Entry<String, String> e, int[][] a) {}
+                  <T> void baz(T t, int i) {}
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<>() {
+                @Override
+                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Object o) {
+                    JavaType.Method type = method.getMethodType();
+                    switch (method.getSimpleName()) {
+                        case "foo" -> {
+                            assertThat(new MethodMatcher("Test foo(String, Object...)").matches(type)).isTrue();
+                            assertThat(new MethodMatcher("Test foo(String, Object[])").matches(type)).isTrue();
+                            assertThat(new MethodMatcher("Test foo(.., Object[])").matches(type)).isTrue();
+                            assertThat(new MethodMatcher("Test foo(String, ..)").matches(type)).isTrue();
+                            assertThat(new MethodMatcher("Test foo(String)").matches(type)).isFalse();
+                            assertThat(new MethodMatcher("Test foo(Object, ..)").matches(type)).isFalse();
+                            assertThat(new MethodMatcher("Test foo(.., String, Object[])").matches(type)).isTrue();
+                            assertThat(new MethodMatcher("Test foo(.., String, String, Object[])").matches(type)).isFalse();
+                        }
+                        case "bar" -> {
+                            assertThat(new MethodMatcher("Test bar(java.util.Map.Entry, int[][])").matches(type)).isTrue();
+                            assertThat(new MethodMatcher("Test bar(java.util.Map.Entry, int[])").matches(type)).isFalse();
+                        }
+                        case "baz" -> {
+                            // type variables are not part of the argument list that is matched
+                            assertThat(new MethodMatcher("Test baz(int)").matches(type)).isTrue();
+                            assertThat(new MethodMatcher("Test baz(.., int)").matches(type)).isTrue();
+                        }
+                    }
+                    return super.visitMethodDeclaration(method, o);
+                }
+            })
+          )
+        );
+    }
 }
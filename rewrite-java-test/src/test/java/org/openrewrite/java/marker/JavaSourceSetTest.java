@@ -17,6 +17,7 @@
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.Issue;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaParser;
@@ -26,14 +27,23 @@
 import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.java.tree.JavaType;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Fail.fail;
 
@@ -59,6 +69,68 @@ void shallowTypes() {
         assertThat(typesBySignature.get("java.util.List")).isInstanceOf(JavaType.ShallowClass.class);
     }
 
+    @Test
+    void hasType() {
+        var jss = JavaSourceSet.build("main", emptyList(), new JavaTypeCache(), false);
+        assertThat(jss.hasType("java.util.List")).isTrue();
+        assertThat(jss.hasType("java.util.Map.Entry")).isTrue();
+        assertThat(jss.hasType("java.util.Map$Entry")).isTrue();
+        assertThat(jss.hasType("java.util.DoesNotExist")).isFalse();
+    }
+
+    @Test
+    void sharesClasspathTypesBetweenSourceSets() {
+        var main = JavaSourceSet.build("main", emptyList(), new JavaTypeCache(), false);
+        var test = JavaSourceSet.build("test", emptyList(), new JavaTypeCache(), false);
+        assertThat(test.getClasspath()).isSameAs(main.getClasspath());
+    }
+
+    @Test
+    void rebuiltClasspathEntryIsScannedAgain(@TempDir Path tempDir) throws IOException {
+        var jar = tempDir.resolve("rebuilt.jar");
+        writeJar(jar, "a.txt");
+        var before = JavaSourceSet.build("main", List.of(jar), new JavaTypeCache(), false);
+        assertThat(JavaSourceSet.build("test", List.of(jar), new JavaTypeCache(), false).getClasspath())
+          .isSameAs(before.getClasspath());
+
+        writeJar(jar, "a.txt", "b.txt");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 1000));
+        var after = JavaSourceSet.build("main", List.of(jar), new JavaTypeCache(), false);
+        assertThat(after.getClasspath()).isNotSameAs(before.getClasspath());
+    }
+
+    @Test
+    void rebuiltClasspathDirectoryIsScannedAgain(@TempDir Path tempDir) throws IOException {
+        var classes = tempDir.resolve("classes");
+        copyClass(JavaSourceSetTest.class, classes);
+        var before = JavaSourceSet.build("main", List.of(classes), new JavaTypeCache(), false);
+        assertThat(before.hasType(JavaSourceSetTest.class.getName())).isTrue();
+        assertThat(before.hasType(JavaSourceSet.class.getName())).isFalse();
+
+        // adding a class does not necessarily change the size or modification time of the directory itself
+        copyClass(JavaSourceSet.class, classes);
+        var after = JavaSourceSet.build("main", List.of(classes), new JavaTypeCache(), false);
+        assertThat(after.hasType(JavaSourceSet.class.getName())).isTrue();
+    }
+
+    private static void copyClass(Class<?> clazz, Path classes) throws IOException {
+        var classFile = classes.resolve(clazz.getName().replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        try (var in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            Files.copy(requireNonNull(in), classFile);
+        }
+    }
+
+    private static void writeJar(Path jar, String... entries) throws IOException {
+        try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String entry : entries) {
+                out.putNextEntry(new JarEntry(entry));
+                out.write(entry.getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+    }
+
     @Issue("https://github.com/openrewrite/rewrite/issues/1677")
     @Test
     void shadedJar() {
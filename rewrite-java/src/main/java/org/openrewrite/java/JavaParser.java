@@ -305,6 +305,9 @@ default boolean accept(Path path) {
 
         protected Charset charset = Charset.defaultCharset();
         protected boolean logCompilationWarningsAndErrors = false;
+        protected int parallelism = 1;
+        protected int batchSize;
+        protected long batchBytes;
         protected final List<NamedStyles> styles = new ArrayList<>();
 
         public Builder() {
@@ -321,6 +324,42 @@ public B typeCache(JavaTypeCache javaTypeCache) {
             return (B) this;
         }
 
+        /**
+         * Parse source files on up to this many threads, each with its own javac context. Source files are
+         * partitioned by package, and each context only parses, attributes and maps its own partition. References
+         * to classes of other partitions resolve by reading and entering the source files that declare them, which
+         * are found in the directory matching their package. Types are shared between contexts when the
+         * {@link #typeCache(JavaTypeCache) type cache} is a {@link org.openrewrite.java.internal.ConcurrentJavaTypeCache}.
+         * The execution context, along with its parsing listener and error handler, is then called from several
+         * threads at once, and must be thread-safe. Not supported by the Java 8 parser, which ignores it.
+         */
+        @Incubating(since = "8.19.0")
+        public B parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return (B) this;
+        }
+
+        /**
+         * Parse, attribute and map source files in consecutive batches of at most this many source files, so that
+         * only the javac trees of one batch are held in memory at a time. Symbols entered by earlier batches are kept,
+         * so later batches resolve references to them, but references to source files of later batches only resolve
+         * through the classpath. Not supported by the Java 8 parser, or when {@link #parallelism(int) parsing in parallel}.
+         */
+        @Incubating(since = "8.19.0")
+        public B batchSize(int sourceFiles) {
+            this.batchSize = sourceFiles;
+            return (B) this;
+        }
+
+        /**
+         * Like {@link #batchSize(int)}, but bounding the total size in bytes of the source files in a batch.
+         */
+        @Incubating(since = "8.19.0")
+        public B batchBytes(long bytes) {
+            this.batchBytes = bytes;
+            return (B) this;
+        }
+
         public B charset(Charset charset) {
             this.charset = charset;
             return (B) this;
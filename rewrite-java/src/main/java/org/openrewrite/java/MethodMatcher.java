@@ -72,6 +72,13 @@ public class MethodMatcher {
 
     private Pattern argumentPattern;
 
+    /**
+     * Matches parameter types structurally rather than by joining them into a string for
+     * {@link #argumentPattern}, when every formal parameter of the pattern is a literal type name.
+     */
+    @Nullable
+    private ParameterTypesMatcher parameterTypesMatcher;
+
     @Nullable
     private String targetType;
 
@@ -124,8 +131,10 @@ public Void visitMethodPattern(MethodSignatureParser.MethodPatternContext ctx) {
                 } else if (matchAllArguments(ctx.formalParametersPattern().formalsPattern())) {
                     argumentPattern = ANY_ARGUMENTS_PATTERN;
                 } else {
-                    argumentPattern = Pattern.compile(new FormalParameterVisitor().visitFormalParametersPattern(
+                    FormalParameterVisitor formalParameterVisitor = new FormalParameterVisitor();
+                    argumentPattern = Pattern.compile(formalParameterVisitor.visitFormalParametersPattern(
                             ctx.formalParametersPattern()));
+                    parameterTypesMatcher = ParameterTypesMatcher.compile(formalParameterVisitor.getLiteralArguments());
                 }
                 return null;
             }
@@ -203,6 +212,8 @@ private boolean matchesParameterTypes(List<JavaType> parameterTypes) {
             return true;
         } else if (argumentPattern == EMPTY_ARGUMENTS_PATTERN) {
             return parameterTypes.isEmpty();
+        } else if (parameterTypesMatcher != null) {
+            return parameterTypesMatcher.matches(parameterTypes);
         }
 
         StringJoiner joiner = new StringJoiner(",");
@@ -415,6 +426,104 @@ private static String typePattern(JavaType type) {
         return null;
     }
 
+    private static boolean hasTypePattern(JavaType type) {
+        return type instanceof JavaType.Primitive ||
+               type instanceof JavaType.Unknown ||
+               type instanceof JavaType.FullyQualified ||
+               type instanceof JavaType.Array;
+    }
+
+    /**
+     * Equivalent to matching {@link #typePattern(JavaType)} against the pattern of a literal type name,
+     * without building the type pattern of array types.
+     */
+    private static boolean typePatternMatches(String literalTypeName, JavaType type) {
+        int dimensions = 0;
+        while (type instanceof JavaType.Array) {
+            type = ((JavaType.Array) type).getElemType();
+            dimensions++;
+        }
+        String elemTypePattern = String.valueOf(typePattern(type));
+        int elemLength = literalTypeName.length() - 2 * dimensions;
+        if (elemLength != elemTypePattern.length()) {
+            return false;
+        }
+        for (int i = 0; i < elemLength; i++) {
+            char expected = literalTypeName.charAt(i);
+            char actual = elemTypePattern.charAt(i);
+            // a '.' in the pattern also matches the '$' of a nested class name
+            if (expected != actual && (expected != '.' || actual != '$')) {
+                return false;
+            }
+        }
+        for (int i = elemLength; i < literalTypeName.length(); i += 2) {
+            if (literalTypeName.charAt(i) != '[' || literalTypeName.charAt(i + 1) != ']') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The formal parameters of a method pattern made up of literal type names, optionally
+     * preceded or followed by {@code ..}. Parameter types without a type pattern are skipped,
+     * just as they are left out of the string that {@link #argumentPattern} is matched against.
+     */
+    private static class ParameterTypesMatcher {
+        private final String[] literalTypeNames;
+        private final boolean leadingDotDot;
+        private final boolean trailingDotDot;
+
+        private ParameterTypesMatcher(String[] literalTypeNames, boolean leadingDotDot, boolean trailingDotDot) {
+            this.literalTypeNames = literalTypeNames;
+            this.leadingDotDot = leadingDotDot;
+            this.trailingDotDot = trailingDotDot;
+        }
+
+        @Nullable
+        static ParameterTypesMatcher compile(@Nullable List<String> literalArguments) {
+            if (literalArguments == null) {
+                return null;
+            }
+            int dotDot = literalArguments.indexOf(null);
+            if (dotDot > 0 && dotDot < literalArguments.size() - 1) {
+                // leave '..' between two parameters to the argument pattern
+                return null;
+            }
+            List<String> literalTypeNames = new ArrayList<>(literalArguments);
+            literalTypeNames.removeIf(Objects::isNull);
+            return new ParameterTypesMatcher(literalTypeNames.toArray(new String[0]),
+                    dotDot == 0, dotDot > 0);
+        }
+
+        boolean matches(List<JavaType> parameterTypes) {
+            if (leadingDotDot) {
+                int i = literalTypeNames.length;
+                for (int p = parameterTypes.size() - 1; p >= 0 && i > 0; p--) {
+                    JavaType parameterType = parameterTypes.get(p);
+                    if (hasTypePattern(parameterType) && !typePatternMatches(literalTypeNames[--i], parameterType)) {
+                        return false;
+                    }
+                }
+                return i == 0;
+            }
+
+            int i = 0;
+            for (JavaType parameterType : parameterTypes) {
+                if (!hasTypePattern(parameterType)) {
+                    continue;
+                }
+                if (i == literalTypeNames.length) {
+                    return trailingDotDot;
+                }
+                if (!typePatternMatches(literalTypeNames[i++], parameterType)) {
+                    return false;
+                }
+            }
+            return i == literalTypeNames.length;
+        }
+    }
+
     public static String methodPattern(J.MethodDeclaration method) {
         assert method.getMethodType() != null;
         return methodPattern(method.getMethodType());
@@ -569,6 +678,27 @@ public String visitFormalParametersPattern(MethodSignatureParser.FormalParameter
         return String.join("", argumentPatterns).replace("...", "\\[\\]");
     }
 
+    /**
+     * @return The literal type name of each formal parameter, with {@code null} in place of {@code ..},
+     * or {@code null} if any formal parameter is a type name pattern.
+     */
+    @Nullable
+    List<String> getLiteralArguments() {
+        List<String> literalArguments = new ArrayList<>(arguments.size());
+        for (Argument argument : arguments) {
+            if (argument == Argument.DOT_DOT) {
+                literalArguments.add(null);
+            } else {
+                String literalTypeName = ((Argument.FormalType) argument).getLiteralTypeName();
+                if (literalTypeName == null) {
+                    return null;
+                }
+                literalArguments.add(literalTypeName);
+            }
+        }
+        return literalArguments;
+    }
+
     private abstract static class Argument {
         abstract String getRegex();
 
@@ -589,6 +719,21 @@ public FormalType(MethodSignatureParser.FormalTypePatternContext ctx) {
                 this.ctx = ctx;
             }
 
+            @Nullable
+            String getLiteralTypeName() {
+                String baseType = new TypeVisitor().visitFormalTypePattern(ctx);
+                if (baseType == null || baseType.isEmpty() || baseType.contains("..")) {
+                    return null;
+                }
+                for (int i = 0; i < baseType.length(); i++) {
+                    char c = baseType.charAt(i);
+                    if (c != '.' && c != '[' && c != ']' && !Character.isJavaIdentifierPart(c)) {
+                        return null;
+                    }
+                }
+                return baseType + (variableArgs ? "[]" : "");
+            }
+
             @Override
             String getRegex() {
                 String baseType = new TypeVisitor().visitFormalTypePattern(ctx);
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.openrewrite.Incubating;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link JavaTypeCache} that is safe to share between parsers running on different threads.
+ * <p>
+ * Entries are spread over independently locked segments, each of which evicts its least recently
+ * used entry once it holds more than its share of {@code maximumSize} entries. Evicting a type only
+ * means that it is mapped again the next time it is needed. Types that are still being mapped are
+ * held only by the {@link #forCompilationUnit() view} of the compilation unit mapping them, and are
+ * published to the shared cache once that compilation unit is completely mapped, so another thread
+ * never sees a type before it is complete.
+ * <p>
+ * Since the cache is meant to be shared, {@link #clone()} returns this same instance, so
+ * {@link org.openrewrite.java.JavaParser.Builder#clone() cloned parser builders} keep sharing it.
+ */
+@Incubating(since = "8.19.0")
+public class ConcurrentJavaTypeCache extends JavaTypeCache {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final int maximumSize;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ConcurrentJavaTypeCache(int maximumSize) {
+        this(maximumSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * @param maximumSize      The maximum number of types held before the least recently used are evicted.
+     * @param concurrencyLevel The expected number of threads using the cache at once, rounded up
+     *                         to a power of two to determine the number of segments.
+     */
+    public ConcurrentJavaTypeCache(int maximumSize, int concurrencyLevel) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount < maximumSize) {
+            segmentCount <<= 1;
+        }
+        this.maximumSize = maximumSize;
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    @Override
+    public @Nullable <T> T get(String signature) {
+        Object key = key(signature);
+        Segment segment = segmentFor(key);
+        Object value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        //noinspection unchecked
+        return (T) value;
+    }
+
+    @Override
+    public void put(String signature, Object o) {
+        Object key = key(signature);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, o);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public ConcurrentJavaTypeCache clone() {
+        return this;
+    }
+
+    /**
+     * Types are put into the cache before they are completely mapped, so that cyclic references to them
+     * resolve to the same instance. The returned view keeps every type put through it to itself until it is
+     * {@link JavaTypeCache#flush() flushed}, so that no other thread sees a type before it is complete, and
+     * none is evicted and mapped again while the compilation unit is being mapped.
+     */
+    @Override
+    public JavaTypeCache forCompilationUnit() {
+        return new CompilationUnitView();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private class CompilationUnitView extends JavaTypeCache {
+        private final Map<String, Object> pinned = new HashMap<>();
+
+        @Override
+        public @Nullable <T> T get(String signature) {
+            Object value = pinned.get(signature);
+            //noinspection unchecked
+            return value == null ? ConcurrentJavaTypeCache.this.get(signature) : (T) value;
+        }
+
+        @Override
+        public void put(String signature, Object o) {
+            pinned.put(signature, o);
+        }
+
+        @Override
+        public void clear() {
+            pinned.clear();
+        }
+
+        /**
+         * Publish the types of the compilation unit to the shared cache. The segment locks order every write
+         * that completed the types before they can be read by another thread.
+         */
+        @Override
+        public void flush() {
+            for (Map.Entry<String, Object> entry : pinned.entrySet()) {
+                Object key = key(entry.getKey());
+                Segment segment = segmentFor(key);
+                synchronized (segment) {
+                    // keep a type that another compilation unit already published, which may already be in use
+                    segment.putIfAbsent(key, entry.getValue());
+                }
+            }
+            pinned.clear();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentJavaTypeCache.this.size();
+        }
+
+        @Override
+        public JavaTypeCache clone() {
+            return this;
+        }
+
+        @Override
+        public JavaTypeCache forCompilationUnit() {
+            return this;
+        }
+    }
+
+    private class Segment extends LinkedHashMap<Object, Object> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.openrewrite.Parser;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Splits the source files given to a Java parser into partitions that are attributed separately.
+ */
+public class JavaSourcePartitions {
+    private JavaSourcePartitions() {
+    }
+
+    /**
+     * Keep the source files of a package together, since they most often refer to one another, and spread
+     * packages over partitions so that each has about the same number of source files.
+     *
+     * @param inputs     The source files to partition.
+     * @param partitions The maximum number of partitions.
+     * @return Non-empty partitions, with source files in the order they were given.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<List<Parser.Input>> byPackage(List<Parser.Input> inputs, int partitions) {
+        Map<Path, List<Parser.Input>> byDirectory = new LinkedHashMap<>();
+        for (Parser.Input input : inputs) {
+            byDirectory.computeIfAbsent(input.getPath().toAbsolutePath().getParent(), d -> new ArrayList<>()).add(input);
+        }
+        List<List<Parser.Input>> packages = new ArrayList<>(byDirectory.values());
+        packages.sort(Comparator.comparingInt(List<Parser.Input>::size).reversed());
+
+        int partitionCount = Math.max(1, Math.min(partitions, packages.size()));
+        Set<Parser.Input>[] assigned = new Set[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            assigned[i] = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        for (List<Parser.Input> pkg : packages) {
+            Set<Parser.Input> smallest = assigned[0];
+            for (Set<Parser.Input> partition : assigned) {
+                if (partition.size() < smallest.size()) {
+                    smallest = partition;
+                }
+            }
+            smallest.addAll(pkg);
+        }
+
+        List<List<Parser.Input>> partitioned = new ArrayList<>(partitionCount);
+        for (Set<Parser.Input> partition : assigned) {
+            List<Parser.Input> ordered = new ArrayList<>(partition.size());
+            for (Parser.Input input : inputs) {
+                if (partition.contains(input)) {
+                    ordered.add(input);
+                }
+            }
+            if (!ordered.isEmpty()) {
+                partitioned.add(ordered);
+            }
+        }
+        return partitioned;
+    }
+
+    /**
+     * Group consecutive source files into batches, reading the source files only as each batch is requested.
+     *
+     * @param inputs   The source files to batch.
+     * @param maxFiles The maximum number of source files in a batch, or 0 for no limit.
+     * @param maxBytes The maximum total size of the source files in a batch, or 0 for no limit. A source file
+     *                 whose size is unknown counts as empty, and a batch always holds at least one source file.
+     * @return Non-empty batches, in the order the source files were given.
+     */
+    public static Iterator<List<Parser.Input>> inBatches(Iterator<Parser.Input> inputs, int maxFiles, long maxBytes) {
+        return new Iterator<List<Parser.Input>>() {
+            @Override
+            public boolean hasNext() {
+                return inputs.hasNext();
+            }
+
+            @Override
+            public List<Parser.Input> next() {
+                if (!inputs.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Parser.Input> batch = new ArrayList<>();
+                long bytes = 0;
+                while (inputs.hasNext()) {
+                    Parser.Input input = inputs.next();
+                    batch.add(input);
+                    bytes += input.getFileAttributes() == null ? 0 : input.getFileAttributes().getSize();
+                    if ((maxFiles > 0 && batch.size() >= maxFiles) || (maxBytes > 0 && bytes >= maxBytes)) {
+                        break;
+                    }
+                }
+                return batch;
+            }
+        };
+    }
+}
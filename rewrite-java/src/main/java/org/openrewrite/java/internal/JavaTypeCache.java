@@ -16,6 +16,7 @@
 package org.openrewrite.java.internal;
 
 import lombok.Value;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.lang.Nullable;
 import org.xerial.snappy.Snappy;
 
@@ -39,6 +40,12 @@ private static class BytesKey {
 
     Map<Object, Object> typeCache = new HashMap<>();
 
+    /**
+     * Set once {@link #typeCache} is shared with a {@link #clone()}, so it is copied on the next write
+     * rather than on every clone.
+     */
+    private boolean copyOnWrite;
+
     @Nullable
     public <T> T get(String signature) {
         //noinspection unchecked
@@ -46,13 +53,17 @@ public <T> T get(String signature) {
     }
 
     public void put(String signature, Object o) {
+        if (copyOnWrite) {
+            typeCache = new HashMap<>(typeCache);
+            copyOnWrite = false;
+        }
         typeCache.put(key(signature), o);
     }
 
     @Nullable
     private static boolean snappyUsable = true;
 
-    private Object key(String signature) {
+    protected Object key(String signature) {
         if (signature.length() > COMPRESSION_THRESHOLD && snappyUsable) {
             try {
                 return new BytesKey(Snappy.compress(signature.getBytes(StandardCharsets.UTF_8)));
@@ -67,18 +78,40 @@ private Object key(String signature) {
     }
 
     public void clear() {
-        typeCache.clear();
+        if (copyOnWrite) {
+            typeCache = new HashMap<>();
+            copyOnWrite = false;
+        } else {
+            typeCache.clear();
+        }
     }
 
     public int size() {
         return typeCache.size();
     }
 
+    /**
+     * @return The cache that the types of one compilation unit are mapped with, for the duration of mapping it.
+     */
+    @Incubating(since = "8.19.0")
+    public JavaTypeCache forCompilationUnit() {
+        return this;
+    }
+
+    /**
+     * Called on the cache returned by {@link #forCompilationUnit()} once every type of the compilation unit
+     * is completely mapped.
+     */
+    @Incubating(since = "8.19.0")
+    public void flush() {
+    }
+
     @Override
     public JavaTypeCache clone() {
         try {
             JavaTypeCache clone = (JavaTypeCache) super.clone();
-            clone.typeCache = new HashMap<>(this.typeCache);
+            this.copyOnWrite = true;
+            clone.copyOnWrite = true;
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openrewrite.Incubating;
+import org.openrewrite.java.tree.JavaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A {@link JavaTypeCache} that persists the class types mapped from classpath jars to a cache directory,
+ * with one file per jar named after the SHA-256 hash of the jar's contents. Types persisted by an earlier
+ * run for a jar with the same contents are loaded up front, so the parser finds them in the cache and
+ * does not map them again from class files.
+ * <p>
+ * Call {@link #persist()} once parsing is done to write the types of jars that had no cache file yet.
+ * Only {@link JavaType.Class} types are persisted, since a class type carries its members, supertypes and
+ * annotations. Types referred to by a persisted class but declared in another jar are written with it, so
+ * after loading they may not be the same instances as that other jar's types.
+ */
+@Incubating(since = "8.19.0")
+public class PersistentJavaTypeCache extends JavaTypeCache {
+    private static final ObjectMapper MAPPER = mapper();
+    private static final TypeReference<Map<String, JavaType>> TYPES_BY_SIGNATURE = new TypeReference<Map<String, JavaType>>() {
+    };
+
+    private final Path cacheDirectory;
+
+    /**
+     * Types loaded from the cache directory, which are put back in the cache when it is cleared.
+     */
+    private final Map<String, JavaType> loaded = new HashMap<>();
+
+    /**
+     * The content hash of each classpath jar that has no cache file yet, by the fully qualified names of
+     * the classes it contains.
+     */
+    private final Map<String, String> uncachedJarHashesByClass = new HashMap<>();
+
+    /**
+     * Class types mapped from uncached jars, by the content hash of the jar they were mapped from.
+     */
+    private final Map<String, Map<String, JavaType>> mappedByJarHash = new HashMap<>();
+
+    public PersistentJavaTypeCache(Path cacheDirectory, Collection<Path> classpath) {
+        this.cacheDirectory = cacheDirectory;
+        for (Path entry : classpath) {
+            if (!Files.isRegularFile(entry) || !entry.getFileName().toString().endsWith(".jar")) {
+                continue;
+            }
+            String hash = contentHash(entry);
+            Path cacheFile = cacheFile(hash);
+            if (Files.exists(cacheFile)) {
+                load(cacheFile);
+            } else {
+                index(entry, hash);
+            }
+        }
+        loaded.forEach(super::put);
+    }
+
+    @Override
+    public void put(String signature, Object o) {
+        super.put(signature, o);
+        if (o instanceof JavaType.Class && !(o instanceof JavaType.ShallowClass) && !uncachedJarHashesByClass.isEmpty()) {
+            String hash = uncachedJarHashesByClass.get(((JavaType.Class) o).getFullyQualifiedName());
+            if (hash != null) {
+                mappedByJarHash.computeIfAbsent(hash, h -> new HashMap<>()).put(signature, (JavaType) o);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        loaded.forEach(super::put);
+    }
+
+    /**
+     * Write the class types mapped so far from each jar that had no cache file yet. Jars that no types were
+     * mapped from are left without a cache file, so that a later run may still persist their types.
+     */
+    public void persist() {
+        try {
+            Files.createDirectories(cacheDirectory);
+            for (Map.Entry<String, Map<String, JavaType>> mapped : mappedByJarHash.entrySet()) {
+                Path cacheFile = cacheFile(mapped.getKey());
+                Path tempFile = Files.createTempFile(cacheDirectory, mapped.getKey(), ".tmp");
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    MAPPER.writeValue(out, mapped.getValue());
+                }
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        mappedByJarHash.clear();
+    }
+
+    private Path cacheFile(String hash) {
+        return cacheDirectory.resolve(hash + ".types");
+    }
+
+    private void load(Path cacheFile) {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try (InputStream in = new ByteBufferBackedInputStream(buffer)) {
+                loaded.putAll(MAPPER.readValue(in, TYPES_BY_SIGNATURE));
+            }
+        } catch (IOException e) {
+            // an unreadable cache file is mapped again and overwritten by the next persist
+        }
+    }
+
+    private void index(Path jar, String hash) {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+                    uncachedJarHashesByClass.putIfAbsent(name.substring(0, name.length() - ".class".length())
+                            .replace('/', '.'), hash);
+                }
+            }
+        } catch (IOException e) {
+            // not a readable jar, so its types are not persisted
+        }
+    }
+
+    private static String contentHash(Path jar) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(jar), digest)) {
+                byte[] buffer = new byte[64 * 1024];
+                //noinspection StatementWithEmptyBody
+                while (in.read(buffer) != -1) {
+                }
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ObjectMapper mapper() {
+        SmileFactory f = new SmileFactory();
+        f.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+
+        ObjectMapper m = JsonMapper.builder(f)
+                .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .build()
+                .registerModule(new ParameterNamesModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        return m.setVisibility(m.getSerializationConfig().getDefaultVisibilityChecker()
+                .withCreatorVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY));
+    }
+}
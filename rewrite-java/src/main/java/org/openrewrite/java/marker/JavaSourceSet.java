@@ -22,16 +22,22 @@
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import lombok.With;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.internal.JavaTypeCache;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.marker.SourceSet;
 
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.UUID;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static org.openrewrite.Tree.randomId;
 
@@ -46,6 +52,16 @@ public class JavaSourceSet implements SourceSet {
 
     List<JavaType.FullyQualified> classpath;
 
+    /**
+     * Classpath types of source sets built from the same classpath, which are usually many when the
+     * source sets are those of the modules of one project. A classpath jar that is rebuilt at the
+     * same path has a different size or modification time, and so a different key. Directories are
+     * not keyed, since their contents change without either changing.
+     */
+    private static final Map<List<ClasspathEntry>, SharedClasspathTypes> CLASSPATH_TYPES = new ConcurrentHashMap<>();
+    private static final int MAX_SHARED_CLASSPATHS = 64;
+    private static final AtomicLong CLASSPATH_USES = new AtomicLong();
+
     /**
      * Extract type information from the provided classpath.
      *
@@ -58,6 +74,95 @@ public static JavaSourceSet build(String sourceSetName, Collection<Path> classpa
             throw new UnsupportedOperationException();
         }
 
+        List<ClasspathEntry> classpathKey = new ArrayList<>(classpath.size());
+        for (Path entry : classpath) {
+            ClasspathEntry classpathEntry = ClasspathEntry.of(entry);
+            if (classpathEntry == null) {
+                return new JavaSourceSet(randomId(), sourceSetName, new ClasspathTypes(typeNamesOnClasspath(classpath)));
+            }
+            classpathKey.add(classpathEntry);
+        }
+
+        SharedClasspathTypes shared = CLASSPATH_TYPES.computeIfAbsent(classpathKey, key -> new SharedClasspathTypes());
+        shared.lastUsed = CLASSPATH_USES.incrementAndGet();
+        if (CLASSPATH_TYPES.size() > MAX_SHARED_CLASSPATHS) {
+            evictLeastRecentlyUsedClasspath();
+        }
+        return new JavaSourceSet(randomId(), sourceSetName, shared.get(classpath));
+    }
+
+    private static void evictLeastRecentlyUsedClasspath() {
+        Map.Entry<List<ClasspathEntry>, SharedClasspathTypes> eldest = null;
+        for (Map.Entry<List<ClasspathEntry>, SharedClasspathTypes> entry : CLASSPATH_TYPES.entrySet()) {
+            if (eldest == null || entry.getValue().lastUsed < eldest.getValue().lastUsed) {
+                eldest = entry;
+            }
+        }
+        if (eldest != null) {
+            CLASSPATH_TYPES.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Scans a classpath at most once while its types are reachable. Source sets built from other
+     * classpaths do not wait on the scan.
+     */
+    private static class SharedClasspathTypes {
+        private SoftReference<ClasspathTypes> types = new SoftReference<>(null);
+        volatile long lastUsed;
+
+        synchronized ClasspathTypes get(Collection<Path> classpath) {
+            ClasspathTypes classpathTypes = types.get();
+            if (classpathTypes == null) {
+                classpathTypes = new ClasspathTypes(typeNamesOnClasspath(classpath));
+                types = new SoftReference<>(classpathTypes);
+            }
+            return classpathTypes;
+        }
+    }
+
+    @Value
+    private static class ClasspathEntry {
+        Path path;
+        long size;
+        long lastModified;
+
+        /**
+         * @return {@code null} for a directory, whose types cannot be shared.
+         */
+        @Nullable
+        static ClasspathEntry of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isDirectory()) {
+                    return null;
+                }
+                return new ClasspathEntry(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                return new ClasspathEntry(path, -1, -1);
+            }
+        }
+    }
+
+    /**
+     * @param fullyQualifiedName A fully qualified type name, in which the names of nested types may be
+     *                           separated by either '.' or '$'.
+     * @return Whether the type is on this source set's classpath.
+     */
+    @Incubating(since = "8.19.0")
+    public boolean hasType(String fullyQualifiedName) {
+        if (classpath instanceof ClasspathTypes) {
+            return ((ClasspathTypes) classpath).hasType(fullyQualifiedName);
+        }
+        for (JavaType.FullyQualified type : classpath) {
+            if (TypeUtils.isOfClassType(type, fullyQualifiedName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> typeNamesOnClasspath(Collection<Path> classpath) {
         List<String> typeNames;
         if (!classpath.iterator().hasNext()) {
             // Only load JRE-provided types
@@ -83,7 +188,7 @@ public static JavaSourceSet build(String sourceSetName, Collection<Path> classpa
 
         // Peculiarly, Classgraph will not return a ClassInfo for java.lang.Object, although it does for all other java.lang types
         typeNames.add("java.lang.Object");
-        return new JavaSourceSet(randomId(), sourceSetName, typesFrom(typeNames));
+        return typeNames;
     }
 
     /*
@@ -115,12 +220,57 @@ private static List<String> packagesToTypeDeclarations(ScanResult scanResult) {
         return result;
     }
 
-    private static List<JavaType.FullyQualified> typesFrom(List<String> typeNames) {
-        List<JavaType.FullyQualified> types = new ArrayList<>(typeNames.size());
-        for (String typeName : typeNames) {
-            types.add(JavaType.ShallowClass.build(typeName));
+    /**
+     * The types on a classpath, held as a sorted table of their names. A shallow type is only built
+     * the first time it is requested.
+     */
+    private static final class ClasspathTypes extends AbstractList<JavaType.FullyQualified> implements RandomAccess {
+        private final String[] typeNames;
+        private final AtomicReferenceArray<JavaType.FullyQualified> types;
+
+        /**
+         * The type names with nested types separated by '.', in sorted order, which are the
+         * type names themselves unless any has a '$'.
+         */
+        @Nullable
+        private volatile String[] normalizedTypeNames;
+
+        ClasspathTypes(List<String> typeNames) {
+            this.typeNames = typeNames.stream().sorted().distinct().toArray(String[]::new);
+            this.types = new AtomicReferenceArray<>(this.typeNames.length);
+        }
+
+        @Override
+        public JavaType.FullyQualified get(int index) {
+            JavaType.FullyQualified type = types.get(index);
+            if (type == null) {
+                type = JavaType.ShallowClass.build(typeNames[index]);
+                if (!types.compareAndSet(index, null, type)) {
+                    type = types.get(index);
+                }
+            }
+            return type;
+        }
+
+        @Override
+        public int size() {
+            return typeNames.length;
+        }
+
+        boolean hasType(String fullyQualifiedName) {
+            String[] normalized = normalizedTypeNames;
+            if (normalized == null) {
+                normalized = typeNames;
+                for (String typeName : typeNames) {
+                    if (typeName.indexOf('$') >= 0) {
+                        normalized = Arrays.stream(typeNames).map(TypeUtils::toFullyQualifiedName).sorted().toArray(String[]::new);
+                        break;
+                    }
+                }
+                normalizedTypeNames = normalized;
+            }
+            return Arrays.binarySearch(normalized, TypeUtils.toFullyQualifiedName(fullyQualifiedName)) >= 0;
         }
-        return types;
     }
 
     /**
@@ -19,6 +19,8 @@
 import lombok.Getter;
 import lombok.Value;
 import lombok.With;
+import org.openrewrite.SourceFile;
+import org.openrewrite.SourceFileApplicability;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
@@ -33,7 +35,7 @@
 
 import static org.openrewrite.Tree.randomId;
 
-public class UsesMethod<P> extends JavaIsoVisitor<P> {
+public class UsesMethod<P> extends JavaIsoVisitor<P> implements SourceFileApplicability {
     private final String methodPattern;
 
     @Getter
@@ -60,20 +62,34 @@ private UsesMethod(MethodMatcher methodMatcher, String methodPattern) {
         this.methodPattern = methodPattern;
     }
 
+    @Override
+    public String getApplicabilityKey() {
+        return "UsesMethod " + methodMatcher + " " + methodMatcher.isMatchOverrides();
+    }
+
+    @Override
+    public boolean isApplicable(SourceFile sourceFile) {
+        return sourceFile instanceof JavaSourceFile && uses((JavaSourceFile) sourceFile);
+    }
+
     @Override
     public J visit(@Nullable Tree tree, P p) {
         if (tree instanceof JavaSourceFile) {
             JavaSourceFile cu = (JavaSourceFile) tree;
-            for (JavaType.Method type : cu.getTypesInUse().getUsedMethods()) {
-                if (methodMatcher.matches(type)) {
-                    return found(cu);
-                }
-            }
-            return (J) tree;
+            return uses(cu) ? found(cu) : cu;
         }
         return super.visit(tree, p);
     }
 
+    private boolean uses(JavaSourceFile cu) {
+        for (JavaType.Method type : cu.getTypesInUse().getUsedMethods()) {
+            if (methodMatcher.matches(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private <J2 extends J> J2 found(J2 j) {
         // also adding a `SearchResult` marker to get a visible diff
         return SearchResult.found(j.withMarkers(j.getMarkers()
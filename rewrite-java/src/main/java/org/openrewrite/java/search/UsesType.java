@@ -16,6 +16,8 @@
 package org.openrewrite.java.search;
 
 import lombok.Getter;
+import org.openrewrite.SourceFile;
+import org.openrewrite.SourceFileApplicability;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
@@ -31,7 +33,8 @@
 
 import static java.util.Objects.requireNonNull;
 
-public class UsesType<P> extends JavaIsoVisitor<P> {
+public class UsesType<P> extends JavaIsoVisitor<P> implements SourceFileApplicability {
+    private final String type;
 
     @Nullable
     @Getter
@@ -45,6 +48,7 @@
     private final Boolean includeImplicit;
 
     public UsesType(String fullyQualifiedType, @Nullable Boolean includeImplicit) {
+        this.type = fullyQualifiedType;
         if (fullyQualifiedType.contains("*")) {
             this.fullyQualifiedType = null;
             if (fullyQualifiedType.indexOf('*') == fullyQualifiedType.length() - 1) {
@@ -66,60 +70,71 @@ public UsesType(String fullyQualifiedType, @Nullable Boolean includeImplicit) {
         this.includeImplicit = includeImplicit;
     }
 
+    @Override
+    public String getApplicabilityKey() {
+        return "UsesType " + type + " " + Boolean.TRUE.equals(includeImplicit);
+    }
+
+    @Override
+    public boolean isApplicable(SourceFile sourceFile) {
+        return sourceFile instanceof JavaSourceFile && uses((JavaSourceFile) sourceFile);
+    }
+
     @Override
     public J visit(@Nullable Tree tree, P p) {
         if (tree instanceof JavaSourceFile) {
             JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
-            JavaSourceFile c = cu;
+            if (uses(cu)) {
+                return SearchResult.found(cu);
+            }
+        }
+        return (J) tree;
+    }
 
-            for (JavaType type : c.getTypesInUse().getTypesInUse()) {
-                JavaType checkType = type instanceof JavaType.Primitive ? type : TypeUtils.asFullyQualified(type);
-                if ((c = maybeMark(c, checkType)) != cu) {
-                    return c;
-                }
+    private boolean uses(JavaSourceFile c) {
+        for (JavaType type : c.getTypesInUse().getTypesInUse()) {
+            JavaType checkType = type instanceof JavaType.Primitive ? type : TypeUtils.asFullyQualified(type);
+            if (matches(checkType)) {
+                return true;
             }
+        }
 
-            for (J.Import anImport : c.getImports()) {
-                if (anImport.isStatic()) {
-                    if ((c = maybeMark(c, TypeUtils.asFullyQualified(anImport.getQualid().getTarget().getType()))) != cu) {
-                        return c;
-                    }
-                } else if ((c = maybeMark(c, TypeUtils.asFullyQualified(anImport.getQualid().getType()))) != cu) {
-                    return c;
+        for (J.Import anImport : c.getImports()) {
+            if (anImport.isStatic()) {
+                if (matches(TypeUtils.asFullyQualified(anImport.getQualid().getTarget().getType()))) {
+                    return true;
                 }
+            } else if (matches(TypeUtils.asFullyQualified(anImport.getQualid().getType()))) {
+                return true;
             }
+        }
 
-            if (Boolean.TRUE.equals(includeImplicit)) {
-                for (JavaType.Method method : c.getTypesInUse().getUsedMethods()) {
-                    if ((c = maybeMark(c, method.getDeclaringType())) != cu) {
-                        return c;
-                    }
-                    if ((c = maybeMark(c, method.getReturnType())) != cu) {
-                        return c;
-                    }
+        if (Boolean.TRUE.equals(includeImplicit)) {
+            for (JavaType.Method method : c.getTypesInUse().getUsedMethods()) {
+                if (matches(method.getDeclaringType())) {
+                    return true;
+                }
+                if (matches(method.getReturnType())) {
+                    return true;
+                }
 
-                    for (JavaType parameterType : method.getParameterTypes()) {
-                        if ((c = maybeMark(c, parameterType)) != cu) {
-                            return c;
-                        }
+                for (JavaType parameterType : method.getParameterTypes()) {
+                    if (matches(parameterType)) {
+                        return true;
                     }
                 }
             }
         }
-        return (J) tree;
+        return false;
     }
 
-    private JavaSourceFile maybeMark(JavaSourceFile c, @Nullable JavaType type) {
+    private boolean matches(@Nullable JavaType type) {
         if (type == null) {
-            return c;
-        }
-
-        if (typePattern != null && TypeUtils.isAssignableTo(typePattern, type)
-            || fullyQualifiedType != null && TypeUtils.isAssignableTo(fullyQualifiedType, type)) {
-            return SearchResult.found(c);
+            return false;
         }
 
-        return c;
+        return typePattern != null && TypeUtils.isAssignableTo(typePattern, type)
+               || fullyQualifiedType != null && TypeUtils.isAssignableTo(fullyQualifiedType, type);
     }
 
     private static Predicate<JavaType> genericPattern(Pattern pattern) {
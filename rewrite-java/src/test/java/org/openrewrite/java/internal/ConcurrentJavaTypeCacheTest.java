@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentJavaTypeCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache(2, 1);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertThat(cache.<String>get("a")).isEqualTo("A");
+
+        cache.put("c", "C");
+        assertThat(cache.<String>get("b")).isNull();
+        assertThat(cache.<String>get("a")).isEqualTo("A");
+        assertThat(cache.<String>get("c")).isEqualTo("C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(3);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void typesMappedInCompilationUnitAreNotEvictedFromIt() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache(1, 1);
+        JavaTypeCache compilationUnit = cache.forCompilationUnit();
+        compilationUnit.put("a", "A");
+        compilationUnit.put("b", "B");
+
+        assertThat(cache.<String>get("a")).isNull();
+        assertThat(compilationUnit.<String>get("a")).isEqualTo("A");
+        assertThat(compilationUnit.<String>get("b")).isEqualTo("B");
+        assertThat(cache.forCompilationUnit().<String>get("a")).isNull();
+    }
+
+    @Test
+    void typesArePublishedOnceCompilationUnitIsFlushed() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache(10);
+        cache.put("b", "shared B");
+        JavaTypeCache compilationUnit = cache.forCompilationUnit();
+        compilationUnit.put("a", "A");
+        compilationUnit.put("b", "B");
+        assertThat(cache.<String>get("a")).isNull();
+
+        compilationUnit.flush();
+        assertThat(cache.<String>get("a")).isEqualTo("A");
+        assertThat(cache.<String>get("b")).isEqualTo("shared B");
+    }
+
+    @Test
+    void sharedByClones() {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache(100);
+        assertThat(cache.clone()).isSameAs(cache);
+    }
+
+    @Test
+    void concurrentPuts() throws InterruptedException {
+        ConcurrentJavaTypeCache cache = new ConcurrentJavaTypeCache(10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    cache.put("java.util.List<java.util.Map<java.lang.String, java.lang.Integer>>#" + i, i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(cache.size()).isEqualTo(1_000);
+    }
+
+    @Test
+    void cloneCopiesOnWrite() {
+        JavaTypeCache cache = new JavaTypeCache();
+        cache.put("a", "A");
+
+        JavaTypeCache clone = cache.clone();
+        clone.put("b", "B");
+        cache.clear();
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(clone.<String>get("a")).isEqualTo("A");
+        assertThat(clone.<String>get("b")).isEqualTo("B");
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.tree.JavaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentJavaTypeCacheTest {
+
+    @Test
+    void loadsTypesPersistedForSameJarContents(@TempDir Path tempDir) throws IOException {
+        Path jar = tempDir.resolve("library.jar");
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("com/example/Library.class"));
+            zip.closeEntry();
+        }
+        Path cacheDirectory = tempDir.resolve("cache");
+
+        PersistentJavaTypeCache cache = new PersistentJavaTypeCache(cacheDirectory, List.of(jar));
+        JavaType.Class library = new JavaType.Class(null, 1L, "com.example.Library", JavaType.FullyQualified.Kind.Class,
+          null, null, null, null, null, null, null);
+        cache.put("com.example.Library", library);
+        cache.put("com.example.Other", new JavaType.Class(null, 1L, "com.example.Other", JavaType.FullyQualified.Kind.Class,
+          null, null, null, null, null, null, null));
+        cache.persist();
+
+        PersistentJavaTypeCache reloaded = new PersistentJavaTypeCache(cacheDirectory, List.of(jar));
+        JavaType.Class loaded = reloaded.get("com.example.Library");
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getFullyQualifiedName()).isEqualTo("com.example.Library");
+        assertThat(reloaded.<JavaType>get("com.example.Other")).isNull();
+
+        reloaded.clear();
+        assertThat(reloaded.<JavaType>get("com.example.Library")).isNotNull();
+    }
+}
@@ -17,14 +17,18 @@
 
 import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.cache.InMemoryMavenPomCache;
 import org.openrewrite.maven.cache.MavenPomCache;
 import org.openrewrite.maven.internal.MavenParsingException;
+import org.openrewrite.maven.internal.RecordingResolutionEventListener;
 import org.openrewrite.maven.tree.*;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,6 +51,10 @@ public class MavenExecutionContextView extends DelegatingExecutionContext {
     private static final String MAVEN_POM_CACHE = "org.openrewrite.maven.pomCache";
     private static final String MAVEN_RESOLUTION_LISTENER = "org.openrewrite.maven.resolutionListener";
     private static final String MAVEN_RESOLUTION_TIME = "org.openrewrite.maven.resolutionTime";
+    private static final String MAVEN_RESOLUTION_TIME_NANOS = "org.openrewrite.maven.resolutionTimeNanos";
+    private static final String MAVEN_DOWNLOAD_EXECUTOR = "org.openrewrite.maven.downloadExecutor";
+    private static final String MAVEN_RESOLUTION_EXECUTOR = "org.openrewrite.maven.resolutionExecutor";
+    private static final String MAVEN_MAX_CONCURRENT_DOWNLOADS_PER_REPOSITORY = "org.openrewrite.maven.maxConcurrentDownloadsPerRepository";
 
     public MavenExecutionContextView(ExecutionContext delegate) {
         super(delegate);
@@ -60,12 +68,19 @@ public static MavenExecutionContextView view(ExecutionContext ctx) {
     }
 
     public MavenExecutionContextView recordResolutionTime(Duration time) {
-        this.computeMessage(MAVEN_RESOLUTION_TIME, time.toMillis(), () -> 0L, Long::sum);
+        resolutionTime().add(time.toNanos());
         return this;
     }
 
     public Duration getResolutionTime() {
-        return Duration.ofMillis(getMessage(MAVEN_RESOLUTION_TIME, 0L));
+        // include time that was recorded in milliseconds under the original key
+        return Duration.ofNanos(resolutionTime().sum())
+                .plusMillis(getMessage(MAVEN_RESOLUTION_TIME, 0L));
+    }
+
+    private LongAdder resolutionTime() {
+        // resolution time is recorded from every thread that downloads or resolves concurrently
+        return computeMessageIfAbsent(MAVEN_RESOLUTION_TIME_NANOS, k -> new LongAdder());
     }
 
     public MavenExecutionContextView setResolutionListener(ResolutionEventListener listener) {
@@ -73,7 +88,15 @@ public MavenExecutionContextView setResolutionListener(ResolutionEventListener l
         return this;
     }
 
+    /**
+     * @return The resolution listener, unless resolution on this thread is currently recording its events to
+     * replay them to the resolution listener later.
+     */
     public ResolutionEventListener getResolutionListener() {
+        RecordingResolutionEventListener recorder = RecordingResolutionEventListener.current();
+        if (recorder != null) {
+            return recorder;
+        }
         return getMessage(MAVEN_RESOLUTION_LISTENER, ResolutionEventListener.NOOP);
     }
 
@@ -126,6 +149,63 @@ public Collection<MavenRepositoryCredentials> getCredentials(@Nullable MavenSett
         return credentials;
     }
 
+    /**
+     * When set, dependency resolution fetches the POMs and version metadata of all dependencies at one
+     * depth of the dependency graph concurrently on this executor, before resolving them in order as usual.
+     * The POM cache must then be safe for concurrent use. The caller is responsible for shutting the executor down.
+     *
+     * @param executor An executor that POM and metadata requests are issued on.
+     * @return This view.
+     */
+    @Incubating(since = "8.19.0")
+    public MavenExecutionContextView setDownloadExecutor(@Nullable ExecutorService executor) {
+        putMessage(MAVEN_DOWNLOAD_EXECUTOR, executor);
+        return this;
+    }
+
+    @Nullable
+    public ExecutorService getDownloadExecutor() {
+        return getMessage(MAVEN_DOWNLOAD_EXECUTOR);
+    }
+
+    /**
+     * When set, {@link MavenParser} resolves the project POMs it parses concurrently on this executor, and the
+     * dependencies of each scope of a project POM are resolved concurrently too. The POM cache and the
+     * {@link ExecutionContext#getOnError() error handler} must then be safe for concurrent use. The
+     * {@link #setResolutionListener(ResolutionEventListener) resolution listener} still receives every event on the
+     * calling thread and in the same order as if the project POMs and scopes were resolved one after another.
+     * This should be a different executor than the {@link #setDownloadExecutor(ExecutorService) download executor}.
+     * The caller is responsible for shutting the executor down.
+     *
+     * @param executor An executor that project POMs and their scopes are resolved on.
+     * @return This view.
+     */
+    @Incubating(since = "8.19.0")
+    public MavenExecutionContextView setResolutionExecutor(@Nullable ExecutorService executor) {
+        putMessage(MAVEN_RESOLUTION_EXECUTOR, executor);
+        return this;
+    }
+
+    @Nullable
+    public ExecutorService getResolutionExecutor() {
+        return getMessage(MAVEN_RESOLUTION_EXECUTOR);
+    }
+
+    /**
+     * @param maxConcurrentDownloads The maximum number of concurrent requests made to any one repository
+     *                               on the {@link #setDownloadExecutor(ExecutorService) download executor}.
+     * @return This view.
+     */
+    @Incubating(since = "8.19.0")
+    public MavenExecutionContextView setMaxConcurrentDownloadsPerRepository(int maxConcurrentDownloads) {
+        putMessage(MAVEN_MAX_CONCURRENT_DOWNLOADS_PER_REPOSITORY, maxConcurrentDownloads);
+        return this;
+    }
+
+    public int getMaxConcurrentDownloadsPerRepository() {
+        return getMessage(MAVEN_MAX_CONCURRENT_DOWNLOADS_PER_REPOSITORY, 8);
+    }
+
     public MavenExecutionContextView setPomCache(MavenPomCache pomCache) {
         putMessage(MAVEN_POM_CACHE, pomCache);
         return this;
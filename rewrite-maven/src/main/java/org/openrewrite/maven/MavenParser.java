@@ -21,6 +21,7 @@
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.internal.MavenPomDownloader;
 import org.openrewrite.maven.internal.RawPom;
+import org.openrewrite.maven.internal.ResolutionTasks;
 import org.openrewrite.maven.tree.MavenResolutionResult;
 import org.openrewrite.maven.tree.Parent;
 import org.openrewrite.maven.tree.Pom;
@@ -34,6 +35,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -74,16 +76,6 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         for (Input source : sources) {
             Path pomPath = source.getRelativePath(relativeTo);
             try {
-                Pom pom = RawPom.parse(source.getSource(ctx), null)
-                        .toPom(pomPath, null);
-
-                if (pom.getProperties() == null || pom.getProperties().isEmpty()) {
-                    pom = pom.withProperties(new LinkedHashMap<>());
-                }
-                String baseDir = pomPath.toAbsolutePath().getParent().toString();
-                pom.getProperties().put("project.basedir", baseDir);
-                pom.getProperties().put("basedir", baseDir);
-
                 SourceFile sourceFile = new MavenXmlParser()
                         .parseInputs(singletonList(source), relativeTo, ctx)
                         .iterator().next();
@@ -91,6 +83,17 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
                 if (sourceFile instanceof Xml.Document) {
                     Xml.Document xml = (Xml.Document) sourceFile;
 
+                    // bind the POM model from the LST rather than reading and tokenizing the source a second time
+                    Pom pom = RawPom.parse(xml, null)
+                            .toPom(pomPath, null);
+
+                    if (pom.getProperties() == null || pom.getProperties().isEmpty()) {
+                        pom = pom.withProperties(new LinkedHashMap<>());
+                    }
+                    String baseDir = pomPath.toAbsolutePath().getParent().toString();
+                    pom.getProperties().put("project.basedir", baseDir);
+                    pom.getProperties().put("basedir", baseDir);
+
                     projectPoms.put(xml, pom);
                     projectPomsByPath.put(pomPath, pom);
                 } else {
@@ -108,28 +111,12 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         MavenSettings sanitizedSettings = mavenCtx.getSettings() == null ? null : mavenCtx.getSettings()
                 .withServers(null);
 
+        List<Supplier<SourceFile>> resolutions = new ArrayList<>(projectPoms.size());
         for (Map.Entry<Xml.Document, Pom> docToPom : projectPoms.entrySet()) {
-            try {
-                ResolvedPom resolvedPom = docToPom.getValue().resolve(activeProfiles, downloader, ctx);
-                MavenResolutionResult model = new MavenResolutionResult(randomId(), null, resolvedPom, emptyList(), null, emptyMap(), sanitizedSettings, mavenCtx.getActiveProfiles());
-                if (!skipDependencyResolution) {
-                    model = model.resolveDependencies(downloader, ctx);
-                }
-                parsed.add(docToPom.getKey().withMarkers(docToPom.getKey().getMarkers().compute(model, (old, n) -> n)));
-            } catch (MavenDownloadingExceptions e) {
-                ParseExceptionResult parseExceptionResult = new ParseExceptionResult(
-                        randomId(),
-                        MavenParser.class.getSimpleName(),
-                        e.getClass().getSimpleName(),
-                        e.warn(docToPom.getKey()).printAll(), // Shows any underlying MavenDownloadingException
-                        null);
-                parsed.add(docToPom.getKey().withMarkers(docToPom.getKey().getMarkers().add(parseExceptionResult)));
-                ctx.getOnError().accept(e);
-            } catch (MavenDownloadingException | UncheckedIOException e) {
-                parsed.add(docToPom.getKey().withMarkers(docToPom.getKey().getMarkers().add(ParseExceptionResult.build(this, e))));
-                ctx.getOnError().accept(e);
-            }
+            resolutions.add(() -> resolve(docToPom.getKey(), docToPom.getValue(), downloader, sanitizedSettings, ctx));
         }
+        // project POMs only depend on each other through the POMs already known to the downloader
+        parsed.addAll(ResolutionTasks.invokeAll(mavenCtx, resolutions));
 
         for (int i = 0; i < parsed.size(); i++) {
             SourceFile maven = parsed.get(i);
@@ -166,6 +153,31 @@ public Stream<SourceFile> parseInputs(Iterable<Input> sources, @Nullable Path re
         return parsed.stream();
     }
 
+    private SourceFile resolve(Xml.Document xml, Pom pom, MavenPomDownloader downloader,
+                               @Nullable MavenSettings sanitizedSettings, ExecutionContext ctx) {
+        MavenExecutionContextView mavenCtx = MavenExecutionContextView.view(ctx);
+        try {
+            ResolvedPom resolvedPom = pom.resolve(activeProfiles, downloader, ctx);
+            MavenResolutionResult model = new MavenResolutionResult(randomId(), null, resolvedPom, emptyList(), null, emptyMap(), sanitizedSettings, mavenCtx.getActiveProfiles());
+            if (!skipDependencyResolution) {
+                model = model.resolveDependencies(downloader, ctx);
+            }
+            return xml.withMarkers(xml.getMarkers().compute(model, (old, n) -> n));
+        } catch (MavenDownloadingExceptions e) {
+            ParseExceptionResult parseExceptionResult = new ParseExceptionResult(
+                    randomId(),
+                    MavenParser.class.getSimpleName(),
+                    e.getClass().getSimpleName(),
+                    e.warn(xml).printAll(), // Shows any underlying MavenDownloadingException
+                    null);
+            ctx.getOnError().accept(e);
+            return xml.withMarkers(xml.getMarkers().add(parseExceptionResult));
+        } catch (MavenDownloadingException | UncheckedIOException e) {
+            ctx.getOnError().accept(e);
+            return xml.withMarkers(xml.getMarkers().add(ParseExceptionResult.build(this, e)));
+        }
+    }
+
     @Override
     public boolean accept(Path path) {
         return "pom.xml".equals(path.toString()) || path.toString().endsWith(".pom");
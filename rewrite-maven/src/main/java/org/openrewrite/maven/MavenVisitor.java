@@ -282,10 +282,8 @@ public ResolvedManagedDependency findManagedDependency(String groupId, String ar
 
     @Nullable
     private ResolvedManagedDependency findManagedDependency(String groupId, String artifactId, @Nullable String classifier) {
-        for (ResolvedManagedDependency d : getResolutionResult().getPom().getDependencyManagement()) {
-            if (groupId.equals(d.getGroupId()) &&
-                artifactId.equals(d.getArtifactId()) &&
-                (classifier == null || classifier.equals(d.getClassifier()))) {
+        for (ResolvedManagedDependency d : getResolutionResult().getPom().getManagedDependencies(groupId, artifactId)) {
+            if (classifier == null || classifier.equals(d.getClassifier())) {
                 return d;
             }
         }
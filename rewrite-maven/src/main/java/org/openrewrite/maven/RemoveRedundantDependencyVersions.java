@@ -237,14 +237,11 @@ private boolean matchesVersion(ResolvedManagedDependency d, ExecutionContext ctx
                     MavenPomDownloader mpd = new MavenPomDownloader(mrr.getProjectPoms(), ctx, mrr.getMavenSettings(), mrr.getActiveProfiles());
                     ResolvedPom parentPom = mpd.download(parentGav, null, mrr.getPom(), mrr.getPom().getRepositories())
                             .resolve(Collections.emptyList(), mpd, ctx);
-                    ResolvedManagedDependency parentManagedVersion = parentPom.getDependencyManagement().stream()
-                            .filter(dep -> dep.getGroupId().equals(d.getGroupId()) && dep.getArtifactId().equals(d.getArtifactId()))
-                            .findFirst()
-                            .orElse(null);
-                    if (parentManagedVersion == null) {
+                    List<ResolvedManagedDependency> parentManagedVersions = parentPom.getManagedDependencies(d.getGroupId(), d.getArtifactId());
+                    if (parentManagedVersions.isEmpty()) {
                         return false;
                     }
-                    String versionAccordingToParent = parentManagedVersion.getVersion();
+                    String versionAccordingToParent = parentManagedVersions.get(0).getVersion();
                     if (versionAccordingToParent == null) {
                         return false;
                     }
@@ -263,17 +263,13 @@ private TreeVisitor<Xml, ExecutionContext> upgradeManagedDependency(Xml.Tag tag,
                         return upgradeVersion(ctx, t, managedDependency.getRequested().getVersion(), groupId, artifactId, version);
                     }
                 } else {
-                    for (ResolvedManagedDependency dm : getResolutionResult().getPom().getDependencyManagement()) {
-                        if (dm.getBomGav() != null) {
-                            String group = getResolutionResult().getPom().getValue(tag.getChildValue("groupId").orElse(getResolutionResult().getPom().getGroupId()));
-                            String artifactId = getResolutionResult().getPom().getValue(tag.getChildValue("artifactId").orElse(""));
-                            if (!projectArtifacts.contains(new GroupArtifact(group, artifactId))) {
-                                ResolvedGroupArtifactVersion bom = dm.getBomGav();
-                                if (Objects.equals(group, bom.getGroupId()) &&
-                                    Objects.equals(artifactId, bom.getArtifactId())) {
-                                    return upgradeVersion(ctx, t, requireNonNull(dm.getRequestedBom()).getVersion(), bom.getGroupId(), bom.getArtifactId(), bom.getVersion());
-                                }
-                            }
+                    String group = getResolutionResult().getPom().getValue(tag.getChildValue("groupId").orElse(getResolutionResult().getPom().getGroupId()));
+                    String artifactId = getResolutionResult().getPom().getValue(tag.getChildValue("artifactId").orElse(""));
+                    if (group != null && artifactId != null && !projectArtifacts.contains(new GroupArtifact(group, artifactId))) {
+                        ResolvedManagedDependency dm = getResolutionResult().getPom().getManagedDependencyImportedFrom(group, artifactId);
+                        if (dm != null) {
+                            ResolvedGroupArtifactVersion bom = requireNonNull(dm.getBomGav());
+                            return upgradeVersion(ctx, t, requireNonNull(dm.getRequestedBom()).getVersion(), bom.getGroupId(), bom.getArtifactId(), bom.getVersion());
                         }
                     }
                 }
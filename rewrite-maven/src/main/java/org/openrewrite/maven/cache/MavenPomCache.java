@@ -22,6 +22,11 @@
 import java.net.URI;
 import java.util.Optional;
 
+/**
+ * Implementations must be safe for concurrent use when POMs are downloaded or resolved concurrently, see
+ * {@link org.openrewrite.maven.MavenExecutionContextView#setDownloadExecutor(java.util.concurrent.ExecutorService)} and
+ * {@link org.openrewrite.maven.MavenExecutionContextView#setResolutionExecutor(java.util.concurrent.ExecutorService)}.
+ */
 public interface MavenPomCache {
 
     @Nullable
@@ -24,6 +24,7 @@
 import lombok.Getter;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.HttpSenderExecutionContextView;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
@@ -43,7 +44,8 @@
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -74,6 +76,23 @@ public class MavenPomDownloader {
     private final MavenExecutionContextView ctx;
     private final HttpSender httpSender;
 
+    @Nullable
+    private final ExecutorService downloadExecutor;
+
+    /**
+     * Prefetches in flight or completed, keyed by the requested coordinates. Each completes with the
+     * responses of the repositories that the POM or metadata could not be fetched from, keyed by repository URI.
+     */
+    private final Map<GroupArtifactVersion, CompletableFuture<Map<String, String>>> prefetches = new ConcurrentHashMap<>();
+    private final Map<GroupArtifact, CompletableFuture<Map<String, String>>> metadataPrefetches = new ConcurrentHashMap<>();
+
+    /**
+     * POMs fetched by a prefetch and not yet downloaded, with the URI each was fetched from. The first download
+     * of each publishes the download events that the prefetch did not.
+     */
+    private final Map<ResolvedGroupArtifactVersion, String> prefetchedUris = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> repositoryPermits = new ConcurrentHashMap<>();
+
     @Nullable
     private MavenSettings mavenSettings;
 
@@ -138,6 +157,7 @@ public MavenPomDownloader(Map<Path, Pom> projectPoms, HttpSender httpSender, Exe
         this.httpSender = httpSender;
         this.ctx = MavenExecutionContextView.view(ctx);
         this.mavenCache = this.ctx.getPomCache();
+        this.downloadExecutor = this.ctx.getDownloadExecutor();
         this.addCentralRepository = !Boolean.FALSE.equals(MavenExecutionContextView.view(ctx).getAddCentralRepository());
         this.addLocalRepository = !Boolean.FALSE.equals(MavenExecutionContextView.view(ctx).getAddLocalRepository());
         this.mirrors = this.ctx.getMirrors(this.ctx.getSettings());
@@ -240,6 +260,10 @@ public MavenMetadata downloadMetadata(GroupArtifactVersion gav, @Nullable Resolv
         Timer.Sample sample = Timer.start();
         Timer.Builder timer = Timer.builder("rewrite.maven.download").tag("type", "metadata");
 
+        if (gav.getVersion() == null) {
+            awaitPrefetch(metadataPrefetches.get(new GroupArtifact(gav.getGroupId(), gav.getArtifactId())));
+        }
+
         MavenMetadata mavenMetadata = null;
         Collection<MavenRepository> normalizedRepos = distinctNormalizedRepositories(repositories, containingPom, null);
         Map<MavenRepository, String> repositoryResponses = new LinkedHashMap<>();
@@ -512,6 +536,7 @@ public Pom download(GroupArtifactVersion gav,
             }
         }
 
+        Map<String, String> prefetchedResponses = awaitPrefetch(prefetches.get(gav));
         Collection<MavenRepository> normalizedRepos = distinctNormalizedRepositories(repositories, containingPom, gav.getVersion());
 
         Timer.Sample sample = Timer.start();
@@ -534,84 +559,34 @@ public Pom download(GroupArtifactVersion gav,
             Optional<Pom> result = mavenCache.getPom(resolvedGav);
 
             if (result == null) {
-                URI uri = URI.create(repo.getUri() + (repo.getUri().endsWith("/") ? "" : "/") +
-                                     requireNonNull(gav.getGroupId()).replace('.', '/') + '/' +
-                                     gav.getArtifactId() + '/' +
-                                     gav.getVersion() + '/' +
-                                     gav.getArtifactId() + '-' + versionMaybeDatedSnapshot + ".pom");
-                uris.add(uri.toString());
-                if ("file".equals(uri.getScheme())) {
-                    Path inputPath = Paths.get(gav.getGroupId(), gav.getArtifactId(), gav.getVersion());
-
-                    try {
-                        File f = new File(uri);
-
-                        //NOTE: The pom may exist without a .jar artifact if the pom packaging is "pom"
-                        if (!f.exists()) {
-                            continue;
-                        }
-
-                        try (FileInputStream fis = new FileInputStream(f)) {
-                            RawPom rawPom = RawPom.parse(fis, Objects.equals(versionMaybeDatedSnapshot, gav.getVersion()) ? null : versionMaybeDatedSnapshot);
-                            Pom pom = rawPom.toPom(inputPath, repo).withGav(resolvedGav);
-
-                            if (pom.getPackaging() == null || pom.hasJarPackaging()) {
-                                File jar = f.toPath().resolveSibling(gav.getArtifactId() + '-' + versionMaybeDatedSnapshot + ".jar").toFile();
-                                if (!jar.exists() || jar.length() == 0) {
-                                    // The jar has not been downloaded, making this dependency unusable.
-                                    continue;
-                                }
-                            }
-
-                            if (repo.getUri().equals(MavenRepository.MAVEN_LOCAL_DEFAULT.getUri())) {
-                                // so that the repository path is the same regardless of username
-                                pom = pom.withRepository(MavenRepository.MAVEN_LOCAL_USER_NEUTRAL);
-                            }
-
-                            if (!Objects.equals(versionMaybeDatedSnapshot, pom.getVersion())) {
-                                pom = pom.withGav(pom.getGav().withDatedSnapshotVersion(versionMaybeDatedSnapshot));
-                            }
-                            mavenCache.putPom(resolvedGav, pom);
-                            ctx.getResolutionListener().downloadSuccess(resolvedGav, containingPom);
-                            sample.stop(timer.tags("outcome", "from maven local").register(Metrics.globalRegistry));
-                            return pom;
-                        }
-                    } catch (IOException e) {
-                        // unable to read the pom from a file-based repository.
-                        repositoryResponses.put(repo, e.getMessage());
-                    }
-                } else {
-                    try {
-                        byte[] responseBody = requestAsAuthenticatedOrAnonymous(repo, uri.toString());
-
-                        Path inputPath = Paths.get(gav.getGroupId(), gav.getArtifactId(), gav.getVersion());
-                        RawPom rawPom = RawPom.parse(
-                                new ByteArrayInputStream(responseBody),
-                                Objects.equals(versionMaybeDatedSnapshot, gav.getVersion()) ? null : versionMaybeDatedSnapshot
-                        );
-                        Pom pom = rawPom.toPom(inputPath, repo).withGav(resolvedGav);
-                        if (!Objects.equals(versionMaybeDatedSnapshot, pom.getVersion())) {
-                            pom = pom.withGav(pom.getGav().withDatedSnapshotVersion(versionMaybeDatedSnapshot));
-                        }
-                        mavenCache.putPom(resolvedGav, pom);
-                        ctx.getResolutionListener().downloadSuccess(resolvedGav, containingPom);
-                        sample.stop(timer.tags("outcome", "downloaded").register(Metrics.globalRegistry));
-                        return pom;
-                    } catch (HttpSenderResponseException e) {
-                        repositoryResponses.put(repo, e.getMessage());
-                        if (e.isClientSideException()) {
-                            //If the exception is a common, client-side exception, cache an empty result.
-                            mavenCache.putPom(resolvedGav, null);
-                        }
-                    } catch (IOException e) {
-                        repositoryResponses.put(repo, e.getMessage());
+                String uri = pomUri(repo, gav, versionMaybeDatedSnapshot);
+                uris.add(uri);
+                try {
+                    Pom pom = fetchPom(repo, uri, gav, resolvedGav, versionMaybeDatedSnapshot);
+                    if (pom == null) {
+                        continue;
                     }
+                    ctx.getResolutionListener().downloadSuccess(resolvedGav, containingPom);
+                    sample.stop(timer.tags("outcome", "file".equals(URI.create(uri).getScheme()) ?
+                            "from maven local" : "downloaded").register(Metrics.globalRegistry));
+                    return pom;
+                } catch (HttpSenderResponseException | IOException e) {
+                    repositoryResponses.put(repo, e.getMessage());
                 }
             } else if (result.isPresent()) {
-                sample.stop(timer.tags("outcome", "cached").register(Metrics.globalRegistry));
+                String prefetchedUri = prefetchedUris.remove(resolvedGav);
+                if (prefetchedUri == null) {
+                    sample.stop(timer.tags("outcome", "cached").register(Metrics.globalRegistry));
+                } else {
+                    ctx.getResolutionListener().downloadSuccess(resolvedGav, containingPom);
+                    sample.stop(timer.tags("outcome", "file".equals(URI.create(prefetchedUri).getScheme()) ?
+                            "from maven local" : "downloaded").register(Metrics.globalRegistry));
+                }
                 return result.get();
             } else {
-                repositoryResponses.put(repo, "Did not attempt to download because of a previous failure to retrieve from this repository.");
+                String prefetchedResponse = prefetchedResponses.get(repo.getUri());
+                repositoryResponses.put(repo, prefetchedResponse != null ? prefetchedResponse :
+                        "Did not attempt to download because of a previous failure to retrieve from this repository.");
             }
         }
         ctx.getResolutionListener().downloadError(gav, uris, (containingPom == null) ? null : containingPom.getRequested());
@@ -620,6 +595,255 @@ public Pom download(GroupArtifactVersion gav,
                 .setRepositoryResponses(repositoryResponses);
     }
 
+    private static String pomUri(MavenRepository repo, GroupArtifactVersion gav, String versionMaybeDatedSnapshot) {
+        return repo.getUri() + (repo.getUri().endsWith("/") ? "" : "/") +
+               requireNonNull(gav.getGroupId()).replace('.', '/') + '/' +
+               gav.getArtifactId() + '/' +
+               gav.getVersion() + '/' +
+               gav.getArtifactId() + '-' + versionMaybeDatedSnapshot + ".pom";
+    }
+
+    /**
+     * Fetch a POM from one repository and put it in the POM cache. Used both by downloads and by prefetches,
+     * so that a prefetched POM is exactly the one the download would have fetched.
+     *
+     * @return The POM, or {@code null} if a file-based repository does not have it or does not have the jar
+     * that makes the dependency usable.
+     */
+    private @Nullable Pom fetchPom(MavenRepository repo, String uriString, GroupArtifactVersion gav,
+                                   ResolvedGroupArtifactVersion resolvedGav, String versionMaybeDatedSnapshot)
+            throws HttpSenderResponseException, IOException {
+        URI uri = URI.create(uriString);
+        //noinspection DataFlowIssue
+        Path inputPath = Paths.get(gav.getGroupId(), gav.getArtifactId(), gav.getVersion());
+        String snapshotVersion = Objects.equals(versionMaybeDatedSnapshot, gav.getVersion()) ? null : versionMaybeDatedSnapshot;
+        Pom pom;
+        if ("file".equals(uri.getScheme())) {
+            File f = new File(uri);
+
+            //NOTE: The pom may exist without a .jar artifact if the pom packaging is "pom"
+            if (!f.exists()) {
+                return null;
+            }
+
+            try (FileInputStream fis = new FileInputStream(f)) {
+                pom = RawPom.parse(fis, snapshotVersion).toPom(inputPath, repo).withGav(resolvedGav);
+            }
+
+            if (pom.getPackaging() == null || pom.hasJarPackaging()) {
+                File jar = f.toPath().resolveSibling(gav.getArtifactId() + '-' + versionMaybeDatedSnapshot + ".jar").toFile();
+                if (!jar.exists() || jar.length() == 0) {
+                    // The jar has not been downloaded, making this dependency unusable.
+                    return null;
+                }
+            }
+
+            if (repo.getUri().equals(MavenRepository.MAVEN_LOCAL_DEFAULT.getUri())) {
+                // so that the repository path is the same regardless of username
+                pom = pom.withRepository(MavenRepository.MAVEN_LOCAL_USER_NEUTRAL);
+            }
+        } else {
+            try {
+                byte[] responseBody = requestAsAuthenticatedOrAnonymous(repo, uriString);
+                pom = RawPom.parse(new ByteArrayInputStream(responseBody), snapshotVersion)
+                        .toPom(inputPath, repo)
+                        .withGav(resolvedGav);
+            } catch (HttpSenderResponseException e) {
+                if (e.isClientSideException()) {
+                    //If the exception is a common, client-side exception, cache an empty result.
+                    mavenCache.putPom(resolvedGav, null);
+                }
+                throw e;
+            }
+        }
+
+        if (!Objects.equals(versionMaybeDatedSnapshot, pom.getVersion())) {
+            pom = pom.withGav(pom.getGav().withDatedSnapshotVersion(versionMaybeDatedSnapshot));
+        }
+        mavenCache.putPom(resolvedGav, pom);
+        return pom;
+    }
+
+    /**
+     * @return {@code true} if a {@link MavenExecutionContextView#setDownloadExecutor(ExecutorService) download executor}
+     * has been supplied, so that {@link #prefetch(GroupArtifactVersion, ResolvedPom, List)} fetches concurrently.
+     */
+    @Incubating(since = "8.19.0")
+    public boolean canPrefetch() {
+        return downloadExecutor != null;
+    }
+
+    /**
+     * Start fetching a POM on the download executor into the POM cache, along with the POMs of its parents,
+     * so that a later call to {@link #download(GroupArtifactVersion, String, ResolvedPom, List)} for the same
+     * coordinates finds it there. A later download waits for a prefetch of the same coordinates that is still in
+     * flight rather than requesting the POM again, and otherwise behaves as if there had been no prefetch.
+     * <p>
+     * Snapshots, project POMs and coordinates with unresolved placeholders are not prefetched. No resolution
+     * events are published by a prefetch itself. The first download of a prefetched POM publishes them instead, as
+     * if it had fetched the POM. The POM cache must be safe for concurrent use. Once the download executor has
+     * been shut down, nothing is prefetched.
+     */
+    @Incubating(since = "8.19.0")
+    public void prefetch(GroupArtifactVersion gav, @Nullable ResolvedPom containingPom, List<MavenRepository> repositories) {
+        if (downloadExecutor == null || prefetches.containsKey(gav) || !isPrefetchable(gav)) {
+            return;
+        }
+        List<MavenRepository> normalizedRepos = new ArrayList<>();
+        for (MavenRepository repo : distinctNormalizedRepositories(repositories, containingPom, gav.getVersion())) {
+            //noinspection DataFlowIssue
+            if (repositoryAcceptsVersion(repo, gav.getVersion(), containingPom)) {
+                normalizedRepos.add(repo);
+            }
+        }
+        prefetch(gav, normalizedRepos);
+    }
+
+    /**
+     * Start fetching the version metadata of an artifact on the download executor into the POM cache, for a
+     * version requirement like a version range that is resolved against the available versions.
+     */
+    @Incubating(since = "8.19.0")
+    public void prefetchMetadata(GroupArtifact groupArtifact, List<MavenRepository> repositories) {
+        if (downloadExecutor == null || metadataPrefetches.containsKey(groupArtifact)) {
+            return;
+        }
+        GroupArtifactVersion gav = new GroupArtifactVersion(groupArtifact.getGroupId(), groupArtifact.getArtifactId(), null);
+        Collection<MavenRepository> normalizedRepos = distinctNormalizedRepositories(repositories, null, null);
+        metadataPrefetches.computeIfAbsent(groupArtifact, ga -> supplyOnDownloadExecutor(() -> {
+            Map<String, String> responses = new HashMap<>();
+            for (MavenRepository repo : normalizedRepos) {
+                URI repoUri = URI.create(repo.getUri());
+                if ("file".equals(repoUri.getScheme()) || mavenCache.getMavenMetadata(repoUri, gav) != null) {
+                    continue;
+                }
+                try {
+                    byte[] responseBody = requestWithPermit(repo, repo.getUri() + (repo.getUri().endsWith("/") ? "" : "/") +
+                                                                  requireNonNull(gav.getGroupId()).replace('.', '/') + '/' +
+                                                                  gav.getArtifactId() + "/maven-metadata.xml");
+                    mavenCache.putMavenMetadata(repoUri, gav, MavenMetadata.parse(responseBody));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    // failures are left to the download, which may still derive the metadata
+                    responses.put(repo.getUri(), e.getMessage());
+                }
+            }
+            return responses;
+        }));
+    }
+
+    private void prefetch(GroupArtifactVersion gav, List<MavenRepository> normalizedRepos) {
+        prefetches.computeIfAbsent(gav, k -> supplyOnDownloadExecutor(() -> {
+            Map<String, String> responses = new HashMap<>();
+            //noinspection DataFlowIssue
+            String version = gav.getVersion();
+            for (MavenRepository repo : normalizedRepos) {
+                ResolvedGroupArtifactVersion resolvedGav = new ResolvedGroupArtifactVersion(
+                        repo.getUri(), gav.getGroupId(), gav.getArtifactId(), version, version);
+                Optional<Pom> result = mavenCache.getPom(resolvedGav);
+                if (result != null) {
+                    if (result.isPresent()) {
+                        prefetchParent(result.get(), normalizedRepos);
+                        break;
+                    }
+                    continue;
+                }
+
+                Semaphore permits = permits(repo);
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                try {
+                    String uri = pomUri(repo, gav, version);
+                    Pom pom = fetchPom(repo, uri, gav, resolvedGav, version);
+                    if (pom != null) {
+                        prefetchedUris.put(resolvedGav, uri);
+                        prefetchParent(pom, normalizedRepos);
+                        break;
+                    }
+                } catch (Exception e) {
+                    responses.put(repo.getUri(), e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            }
+            return responses;
+        }));
+    }
+
+    /**
+     * @return {@code null} once the download executor has been shut down, so that nothing is recorded as
+     * prefetched and the download fetches for itself.
+     */
+    private @Nullable CompletableFuture<Map<String, String>> supplyOnDownloadExecutor(Supplier<Map<String, String>> prefetch) {
+        try {
+            return CompletableFuture.supplyAsync(prefetch, requireNonNull(downloadExecutor));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private void prefetchParent(Pom pom, List<MavenRepository> normalizedRepos) {
+        Parent parent = pom.getParent();
+        if (parent != null && isPrefetchable(parent.getGav())) {
+            // the repositories that the parent is eventually downloaded from may also include
+            // repositories declared in this POM, which are left to the download
+            prefetch(parent.getGav(), normalizedRepos);
+        }
+    }
+
+    private boolean isPrefetchable(GroupArtifactVersion gav) {
+        String version = gav.getVersion();
+        if (gav.getGroupId() == null || version == null || version.endsWith("-" + SNAPSHOT) ||
+            SNAPSHOT_TIMESTAMP.matcher(version).matches() ||
+            gav.getGroupId().contains("${") || gav.getArtifactId().contains("${") || version.contains("${")) {
+            return false;
+        }
+        if (projectPomsByGav.containsKey(gav)) {
+            return false;
+        }
+        for (Pom projectPom : projectPoms.values()) {
+            if (gav.getGroupId().equals(projectPom.getGroupId()) && gav.getArtifactId().equals(projectPom.getArtifactId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Semaphore permits(MavenRepository repo) {
+        return repositoryPermits.computeIfAbsent(repo.getUri(),
+                repoUri -> new Semaphore(ctx.getMaxConcurrentDownloadsPerRepository()));
+    }
+
+    private byte[] requestWithPermit(MavenRepository repo, String uri) throws HttpSenderResponseException, IOException, InterruptedException {
+        Semaphore permits = permits(repo);
+        permits.acquire();
+        try {
+            return requestAsAuthenticatedOrAnonymous(repo, uri);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Map<String, String> awaitPrefetch(@Nullable CompletableFuture<Map<String, String>> prefetch) {
+        if (prefetch == null) {
+            return emptyMap();
+        }
+        try {
+            return prefetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return emptyMap();
+        } catch (ExecutionException e) {
+            return emptyMap();
+        }
+    }
+
     /**
      * Gets the base version from snapshot timestamp version.
      */
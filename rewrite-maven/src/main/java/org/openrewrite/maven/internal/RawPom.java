@@ -18,15 +18,19 @@
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.NonNull;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.tree.*;
+import org.openrewrite.xml.tree.Xml;
 
 import javax.xml.bind.annotation.XmlRootElement;
 import java.io.IOException;
@@ -126,6 +130,24 @@ public static RawPom parse(InputStream inputStream, @Nullable String snapshotVer
         }
     }
 
+    /**
+     * Bind a POM that has already been parsed into an XML LST, rather than parsing its source again.
+     */
+    @Incubating(since = "8.19.0")
+    public static RawPom parse(Xml.Document document, @Nullable String snapshotVersion) {
+        try {
+            ObjectMapper mapper = MavenXmlMapper.readMapper();
+            RawPom pom = mapper.readValue(((XmlFactory) mapper.getFactory())
+                    .createParser(XmlDocumentStreamReader.of(document)), RawPom.class);
+            if (snapshotVersion != null) {
+                pom.setSnapshotVersion(snapshotVersion);
+            }
+            return pom;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse pom", e);
+        }
+    }
+
     @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
     @Data
     public static class Dependency {
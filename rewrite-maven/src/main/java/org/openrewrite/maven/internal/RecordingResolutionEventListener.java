@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.tree.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Records the resolution events published on one thread while it is {@link #start() started}, in place of
+ * the {@link MavenExecutionContextView#getResolutionListener() resolution listener} of the execution context.
+ * Resolution that runs concurrently, or that backs out part of its work, publishes its events to a recorder
+ * of its own and replays them to the listener once it knows which of them stand.
+ */
+public class RecordingResolutionEventListener implements ResolutionEventListener {
+    private static final ThreadLocal<RecordingResolutionEventListener> CURRENT = new ThreadLocal<>();
+
+    private final List<Consumer<ResolutionEventListener>> events = new ArrayList<>();
+
+    @Nullable
+    private final RecordingResolutionEventListener previous;
+
+    private RecordingResolutionEventListener(@Nullable RecordingResolutionEventListener previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * @return The recorder that resolution events published on this thread are recorded by, if any.
+     */
+    public static @Nullable RecordingResolutionEventListener current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Record the resolution events published on this thread until {@link #stop()} is called, nesting
+     * inside any recorder that is already started on this thread.
+     */
+    public static RecordingResolutionEventListener start() {
+        RecordingResolutionEventListener recorder = new RecordingResolutionEventListener(CURRENT.get());
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stop recording on this thread, so that events are again published to whichever listener
+     * received them before this recorder was started.
+     */
+    public void stop() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return The number of events recorded so far, which may later be passed to {@link #truncate(int)}.
+     */
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Forget every event recorded after the first {@code size} events.
+     */
+    public void truncate(int size) {
+        if (size < events.size()) {
+            events.subList(size, events.size()).clear();
+        }
+    }
+
+    /**
+     * Publish the recorded events to another listener, in the order they were recorded.
+     */
+    public void replay(ResolutionEventListener listener) {
+        for (Consumer<ResolutionEventListener> event : events) {
+            event.accept(listener);
+        }
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+    }
+
+    @Override
+    public void downloadMetadata(GroupArtifactVersion gav) {
+        events.add(l -> l.downloadMetadata(gav));
+    }
+
+    @Override
+    public void download(GroupArtifactVersion gav) {
+        events.add(l -> l.download(gav));
+    }
+
+    @Override
+    public void downloadSuccess(ResolvedGroupArtifactVersion gav, @Nullable ResolvedPom containing) {
+        events.add(l -> l.downloadSuccess(gav, containing));
+    }
+
+    @Override
+    public void downloadError(GroupArtifactVersion gav, List<String> attemptedUris, @Nullable Pom containing) {
+        events.add(l -> l.downloadError(gav, attemptedUris, containing));
+    }
+
+    @Override
+    public void parent(Pom parent, Pom containing) {
+        events.add(l -> l.parent(parent, containing));
+    }
+
+    @Override
+    public void dependency(Scope scope, ResolvedDependency resolvedDependency, ResolvedPom containing) {
+        events.add(l -> l.dependency(scope, resolvedDependency, containing));
+    }
+
+    @Override
+    public void bomImport(ResolvedGroupArtifactVersion gav, Pom containing) {
+        events.add(l -> l.bomImport(gav, containing));
+    }
+
+    @Override
+    public void property(String key, String value, Pom containing) {
+        events.add(l -> l.property(key, value, containing));
+    }
+
+    @Override
+    public void dependencyManagement(ManagedDependency dependencyManagement, Pom containing) {
+        events.add(l -> l.dependencyManagement(dependencyManagement, containing));
+    }
+
+    @Override
+    public void repository(MavenRepository mavenRepository, @Nullable ResolvedPom containing) {
+        events.add(l -> l.repository(mavenRepository, containing));
+    }
+
+    @Override
+    public void repositoryAccessFailed(String uri, Throwable e) {
+        events.add(l -> l.repositoryAccessFailed(uri, e));
+    }
+}
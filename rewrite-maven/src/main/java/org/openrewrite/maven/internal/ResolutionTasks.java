@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.internal;
+
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.tree.ResolutionEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent resolution tasks on the {@link MavenExecutionContextView#getResolutionExecutor() resolution executor}.
+ * The calling thread runs any task that no executor thread has picked up yet itself, so tasks may in turn run tasks
+ * on the same executor and wait for them without every thread of the executor ending up waiting on tasks that are
+ * still queued.
+ * <p>
+ * Each task publishes its resolution events to a {@link RecordingResolutionEventListener recorder} of its own, and the
+ * events of all tasks reach the resolution listener in the order of the tasks, exactly as if the tasks had run one
+ * after another.
+ */
+public class ResolutionTasks {
+    private ResolutionTasks() {
+    }
+
+    /**
+     * @param ctx   The execution context whose resolution executor the tasks run on, or whose calling thread
+     *              runs every task if it has none.
+     * @param tasks The tasks to run, which report failures through their result rather than by throwing.
+     * @return The result of every task, in the order of the tasks.
+     */
+    public static <T> List<T> invokeAll(MavenExecutionContextView ctx, List<Supplier<T>> tasks) {
+        RecordingResolutionEventListener[] recorders = new RecordingResolutionEventListener[tasks.size()];
+        List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Supplier<T> task = tasks.get(i);
+            int taskIndex = i;
+            futures.add(new FutureTask<>(() -> {
+                RecordingResolutionEventListener recorder = RecordingResolutionEventListener.start();
+                recorders[taskIndex] = recorder;
+                try {
+                    return task.get();
+                } finally {
+                    recorder.stop();
+                }
+            }));
+        }
+        Executor executor = ctx.getResolutionExecutor();
+        if (executor != null && futures.size() > 1) {
+            // the calling thread starts on the first task right away
+            for (int i = 1; i < futures.size(); i++) {
+                try {
+                    executor.execute(futures.get(i));
+                } catch (RejectedExecutionException ignored) {
+                    // run on the calling thread below
+                }
+            }
+        }
+
+        // the calling thread may itself be recording the events of an enclosing task
+        ResolutionEventListener listener = ctx.getResolutionListener();
+        List<T> results = new ArrayList<>(futures.size());
+        boolean interrupted = false;
+        for (int i = 0; i < futures.size(); i++) {
+            FutureTask<T> future = futures.get(i);
+            // does nothing if an executor thread has already started the task
+            future.run();
+            while (true) {
+                try {
+                    results.add(future.get());
+                    recorders[i].replay(listener);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    } else if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.internal;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.codehaus.stax2.XMLStreamReader2;
+import org.codehaus.stax2.ri.Stax2ReaderAdapter;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.xml.tree.Content;
+import org.openrewrite.xml.tree.Xml;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Presents an already parsed {@link Xml.Document} as the stream of StAX events that a namespace-unaware,
+ * non-coalescing parser of the same text would produce, so that the POM model can be bound from the LST
+ * without tokenizing the document a second time.
+ * <p>
+ * Comments and processing instructions are omitted, and text separated by them is reported as one
+ * character event.
+ */
+class XmlDocumentStreamReader implements XMLStreamReader {
+    private static final Location UNKNOWN_LOCATION = new Location() {
+        @Override
+        public int getLineNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getCharacterOffset() {
+            return -1;
+        }
+
+        @Override
+        public @Nullable String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public @Nullable String getSystemId() {
+            return null;
+        }
+    };
+
+    private final List<Event> events = new ArrayList<>();
+    private int index;
+
+    private XmlDocumentStreamReader(Xml.Document document) {
+        addEvents(document.getRoot());
+        events.add(new Event(END_DOCUMENT, null, null));
+    }
+
+    /**
+     * @return A reader positioned at the start of the root element, which reports elements written as
+     * {@code <tag/>} as empty elements in the same way as Woodstox does.
+     */
+    static XMLStreamReader2 of(Xml.Document document) {
+        XmlDocumentStreamReader reader = new XmlDocumentStreamReader(document);
+        return new Stax2ReaderAdapter(reader) {
+            @Override
+            public boolean isEmptyElement() {
+                return reader.isEmptyElement();
+            }
+        };
+    }
+
+    private void addEvents(Xml.Tag tag) {
+        events.add(new Event(START_ELEMENT, tag, null));
+        if (tag.getClosing() != null) {
+            StringBuilder text = new StringBuilder();
+            List<? extends Content> content = tag.getContent() == null ? Collections.emptyList() : tag.getContent();
+            for (Content c : content) {
+                text.append(c.getPrefix());
+                if (c instanceof Xml.Tag) {
+                    addText(text);
+                    addEvents((Xml.Tag) c);
+                } else if (c instanceof Xml.CharData) {
+                    Xml.CharData charData = (Xml.CharData) c;
+                    text.append(charData.isCdata() ? charData.getText() : StringEscapeUtils.unescapeXml(charData.getText()))
+                            .append(charData.getAfterText());
+                }
+            }
+            text.append(tag.getClosing().getPrefix());
+            addText(text);
+        }
+        events.add(new Event(END_ELEMENT, tag, null));
+    }
+
+    private void addText(StringBuilder text) {
+        if (text.length() > 0) {
+            events.add(new Event(CHARACTERS, null, text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    private Event current() {
+        return events.get(index);
+    }
+
+    private Xml.Tag tag() {
+        Xml.Tag tag = current().tag;
+        if (tag == null) {
+            throw new IllegalStateException("Current event is not an element");
+        }
+        return tag;
+    }
+
+    private String text() {
+        String text = current().text;
+        if (text == null) {
+            throw new IllegalStateException("Current event is not character data");
+        }
+        return text;
+    }
+
+    private Xml.Attribute attribute(int index) {
+        Xml.Tag tag = tag();
+        if (current().type != START_ELEMENT) {
+            throw new IllegalStateException("Current event is not the start of an element");
+        }
+        return tag.getAttributes().get(index);
+    }
+
+    boolean isEmptyElement() {
+        return current().type == START_ELEMENT && tag().getClosing() == null;
+    }
+
+    @Override
+    public @Nullable Object getProperty(String name) {
+        return null;
+    }
+
+    @Override
+    public int next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return events.get(++index).type;
+    }
+
+    @Override
+    public void require(int type, @Nullable String namespaceURI, @Nullable String localName) throws XMLStreamException {
+        if (type != getEventType() ||
+            (namespaceURI != null && !namespaceURI.isEmpty()) ||
+            (localName != null && !localName.equals(getLocalName()))) {
+            throw new XMLStreamException("Expected event " + type + (localName == null ? "" : " for " + localName));
+        }
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (getEventType() != START_ELEMENT) {
+            throw new XMLStreamException("Current event is not the start of an element");
+        }
+        StringBuilder text = new StringBuilder();
+        while (next() != END_ELEMENT) {
+            if (getEventType() == CHARACTERS) {
+                text.append(text());
+            } else {
+                throw new XMLStreamException("Element text must not contain child elements");
+            }
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int type = next();
+        while (type == CHARACTERS && isWhiteSpace()) {
+            type = next();
+        }
+        if (type != START_ELEMENT && type != END_ELEMENT) {
+            throw new XMLStreamException("Expected the start or end of an element");
+        }
+        return type;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < events.size() - 1;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public @Nullable String getNamespaceURI(String prefix) {
+        return null;
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return getEventType() == START_ELEMENT;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return getEventType() == END_ELEMENT;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return getEventType() == CHARACTERS;
+    }
+
+    @Override
+    public boolean isWhiteSpace() {
+        return isCharacters() && text().trim().isEmpty();
+    }
+
+    @Override
+    public @Nullable String getAttributeValue(@Nullable String namespaceURI, String localName) {
+        for (Xml.Attribute attribute : tag().getAttributes()) {
+            if (attribute.getKeyAsString().equals(localName)) {
+                return StringEscapeUtils.unescapeXml(attribute.getValueAsString());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return current().type == START_ELEMENT ? tag().getAttributes().size() : 0;
+    }
+
+    @Override
+    public QName getAttributeName(int index) {
+        return new QName(getAttributeLocalName(index));
+    }
+
+    @Override
+    public String getAttributeNamespace(int index) {
+        return "";
+    }
+
+    @Override
+    public String getAttributeLocalName(int index) {
+        return attribute(index).getKeyAsString();
+    }
+
+    @Override
+    public String getAttributePrefix(int index) {
+        return "";
+    }
+
+    @Override
+    public String getAttributeType(int index) {
+        return "CDATA";
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+        return StringEscapeUtils.unescapeXml(attribute(index).getValueAsString());
+    }
+
+    @Override
+    public boolean isAttributeSpecified(int index) {
+        return true;
+    }
+
+    @Override
+    public int getNamespaceCount() {
+        return 0;
+    }
+
+    @Override
+    public @Nullable String getNamespacePrefix(int index) {
+        throw new IndexOutOfBoundsException("Namespaces are not reported by a namespace-unaware reader");
+    }
+
+    @Override
+    public @Nullable String getNamespaceURI(int index) {
+        throw new IndexOutOfBoundsException("Namespaces are not reported by a namespace-unaware reader");
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return new NamespaceContext() {
+            @Override
+            public @Nullable String getNamespaceURI(String prefix) {
+                return null;
+            }
+
+            @Override
+            public @Nullable String getPrefix(String namespaceURI) {
+                return null;
+            }
+
+            @Override
+            public Iterator<String> getPrefixes(String namespaceURI) {
+                return Collections.emptyIterator();
+            }
+        };
+    }
+
+    @Override
+    public int getEventType() {
+        return current().type;
+    }
+
+    @Override
+    public String getText() {
+        return text();
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        return text().toCharArray();
+    }
+
+    @Override
+    public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) {
+        String text = text();
+        int copied = Math.max(0, Math.min(length, text.length() - sourceStart));
+        text.getChars(sourceStart, sourceStart + copied, target, targetStart);
+        return copied;
+    }
+
+    @Override
+    public int getTextStart() {
+        return 0;
+    }
+
+    @Override
+    public int getTextLength() {
+        return text().length();
+    }
+
+    @Override
+    public @Nullable String getEncoding() {
+        return null;
+    }
+
+    @Override
+    public boolean hasText() {
+        return isCharacters();
+    }
+
+    @Override
+    public Location getLocation() {
+        return UNKNOWN_LOCATION;
+    }
+
+    @Override
+    public QName getName() {
+        return new QName(getLocalName());
+    }
+
+    @Override
+    public String getLocalName() {
+        return tag().getName();
+    }
+
+    @Override
+    public boolean hasName() {
+        return isStartElement() || isEndElement();
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        return "";
+    }
+
+    @Override
+    public String getPrefix() {
+        return "";
+    }
+
+    @Override
+    public @Nullable String getVersion() {
+        return null;
+    }
+
+    @Override
+    public boolean isStandalone() {
+        return false;
+    }
+
+    @Override
+    public boolean standaloneSet() {
+        return false;
+    }
+
+    @Override
+    public @Nullable String getCharacterEncodingScheme() {
+        return null;
+    }
+
+    @Override
+    public @Nullable String getPITarget() {
+        return null;
+    }
+
+    @Override
+    public @Nullable String getPIData() {
+        return null;
+    }
+
+    private static class Event {
+        final int type;
+
+        @Nullable
+        final Xml.Tag tag;
+
+        @Nullable
+        final String text;
+
+        Event(int type, @Nullable Xml.Tag tag, @Nullable String text) {
+            this.type = type;
+            this.tag = tag;
+            this.text = text;
+        }
+    }
+}
@@ -22,12 +22,15 @@
 import org.openrewrite.marker.Marker;
 import org.openrewrite.maven.MavenDownloadingException;
 import org.openrewrite.maven.MavenDownloadingExceptions;
+import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.MavenSettings;
 import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.internal.ResolutionTasks;
 
 import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static java.util.Collections.emptyList;
 import static org.openrewrite.internal.StringUtils.matchesGlob;
@@ -169,16 +172,34 @@ public MavenResolutionResult resolveDependencies(MavenPomDownloader downloader,
         Map<Scope, List<ResolvedDependency>> dependencies = new HashMap<>();
         MavenDownloadingExceptions exceptions = null;
 
+        // each scope is resolved independently, since nearest-wins version selection applies per scope
+        MavenDownloadingExceptions[] scopeExceptions = new MavenDownloadingExceptions[RESOLVE_SCOPES.length];
+        List<Supplier<List<ResolvedDependency>>> scopeResolutions = new ArrayList<>(RESOLVE_SCOPES.length);
+        for (int i = 0; i < RESOLVE_SCOPES.length; i++) {
+            Scope scope = RESOLVE_SCOPES[i];
+            int scopeIndex = i;
+            scopeResolutions.add(() -> {
+                try {
+                    return pom.resolveDependencies(scope, downloader, ctx);
+                } catch (MavenDownloadingExceptions e) {
+                    scopeExceptions[scopeIndex] = e;
+                    return null;
+                }
+            });
+        }
+        List<List<ResolvedDependency>> resolved = ResolutionTasks.invokeAll(
+                MavenExecutionContextView.view(ctx), scopeResolutions);
+
         Map<GroupArtifact, Set<GroupArtifactVersion>> exceptionsInLowerScopes = new HashMap<>();
-        for (Scope scope : RESOLVE_SCOPES) {
-            try {
-                dependencies.put(scope, pom.resolveDependencies(scope, downloader, ctx));
-            } catch (MavenDownloadingExceptions e) {
-                for (MavenDownloadingException exception : e.getExceptions()) {
-                    if (exceptionsInLowerScopes.computeIfAbsent(new GroupArtifact(exception.getRoot().getGroupId(),
-                            exception.getRoot().getArtifactId()), ga -> new HashSet<>()).add(exception.getFailedOn())) {
-                        exceptions = MavenDownloadingExceptions.append(exceptions, exception);
-                    }
+        for (int i = 0; i < RESOLVE_SCOPES.length; i++) {
+            if (scopeExceptions[i] == null) {
+                dependencies.put(RESOLVE_SCOPES[i], resolved.get(i));
+                continue;
+            }
+            for (MavenDownloadingException exception : scopeExceptions[i].getExceptions()) {
+                if (exceptionsInLowerScopes.computeIfAbsent(new GroupArtifact(exception.getRoot().getGroupId(),
+                        exception.getRoot().getArtifactId()), ga -> new HashSet<>()).add(exception.getFailedOn())) {
+                    exceptions = MavenDownloadingExceptions.append(exceptions, exception);
                 }
             }
         }
@@ -25,6 +25,7 @@
 import lombok.*;
 import lombok.experimental.NonFinal;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.PropertyPlaceholderHelper;
 import org.openrewrite.internal.lang.Nullable;
@@ -34,12 +35,14 @@
 import org.openrewrite.maven.cache.MavenPomCache;
 import org.openrewrite.maven.internal.MavenParsingException;
 import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.internal.RecordingResolutionEventListener;
 import org.openrewrite.maven.internal.VersionRequirement;
 import org.openrewrite.maven.tree.ManagedDependency.Defined;
 import org.openrewrite.maven.tree.ManagedDependency.Imported;
 import org.openrewrite.maven.tree.Plugin.Execution;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -110,6 +113,12 @@ public ResolvedPom(Pom requested, Iterable<String> activeProfiles) {
     @Builder.Default
     List<Plugin> pluginManagement = emptyList();
 
+    /**
+     * Hash lookups over {@link #dependencyManagement}, built once resolution has finished and rebuilt
+     * if the dependency management list is replaced afterward.
+     */
+    @Getter(AccessLevel.NONE)
+    private final transient AtomicReference<ManagedDependencyIndex> managedDependencyIndex = new AtomicReference<>();
 
     /**
      * Deduplicate dependencies and dependency management dependencies
@@ -304,32 +313,112 @@ private String getProperty(@Nullable String property) {
 
     @Nullable
     public String getManagedVersion(@Nullable String groupId, String artifactId, @Nullable String type, @Nullable String classifier) {
-        for (ResolvedManagedDependency dm : dependencyManagement) {
-            if (dm.matches(groupId, artifactId, type, classifier)) {
-                return getValue(dm.getVersion());
-            }
-        }
-
-        return null;
+        ResolvedManagedDependency dm = getManagedDependency(groupId, artifactId, type, classifier);
+        return dm == null ? null : getValue(dm.getVersion());
     }
 
     public List<GroupArtifact> getManagedExclusions(String groupId, String artifactId, @Nullable String type, @Nullable String classifier) {
-        for (ResolvedManagedDependency dm : dependencyManagement) {
-            if (dm.matches(groupId, artifactId, type, classifier)) {
-                return dm.getExclusions() == null ? emptyList() : dm.getExclusions();
-            }
-        }
-        return emptyList();
+        ResolvedManagedDependency dm = getManagedDependency(groupId, artifactId, type, classifier);
+        return dm == null || dm.getExclusions() == null ? emptyList() : dm.getExclusions();
     }
 
     @Nullable
     public Scope getManagedScope(String groupId, String artifactId, @Nullable String type, @Nullable String classifier) {
-        for (ResolvedManagedDependency dm : dependencyManagement) {
-            if (dm.matches(groupId, artifactId, type, classifier)) {
-                return dm.getScope();
+        ResolvedManagedDependency dm = getManagedDependency(groupId, artifactId, type, classifier);
+        return dm == null ? null : dm.getScope();
+    }
+
+    /**
+     * @return The first entry of the dependency management that matches these coordinates in the same way
+     * that Maven applies dependency management to a dependency, or {@code null} if there is none.
+     */
+    @Incubating(since = "8.19.0")
+    @Nullable
+    public ResolvedManagedDependency getManagedDependency(@Nullable String groupId, String artifactId, @Nullable String type, @Nullable String classifier) {
+        return managedDependencyIndex().byCoordinates.get(new ManagedDependencyKey(groupId, artifactId, type == null ? "jar" : type, classifier));
+    }
+
+    /**
+     * @return Every entry of the dependency management for this group and artifact regardless of type
+     * or classifier, in the order in which they are declared.
+     */
+    @Incubating(since = "8.19.0")
+    public List<ResolvedManagedDependency> getManagedDependencies(String groupId, String artifactId) {
+        List<ResolvedManagedDependency> managed = managedDependencyIndex().byGroupArtifact.get(new GroupArtifact(groupId, artifactId));
+        return managed == null ? emptyList() : managed;
+    }
+
+    /**
+     * @return The first entry of the dependency management that was imported from a BOM with this group
+     * and artifact, or {@code null} if no such BOM is imported.
+     */
+    @Incubating(since = "8.19.0")
+    @Nullable
+    public ResolvedManagedDependency getManagedDependencyImportedFrom(String bomGroupId, String bomArtifactId) {
+        return managedDependencyIndex().byBom.get(new GroupArtifact(bomGroupId, bomArtifactId));
+    }
+
+    private ManagedDependencyIndex managedDependencyIndex() {
+        List<ResolvedManagedDependency> dependencyManagement = this.dependencyManagement;
+        ManagedDependencyIndex index = managedDependencyIndex.get();
+        if (index == null || !index.isIndexOf(dependencyManagement)) {
+            index = new ManagedDependencyIndex(dependencyManagement);
+            managedDependencyIndex.set(index);
+        }
+        return index;
+    }
+
+    @Value
+    private static class ManagedDependencyKey {
+        @Nullable
+        String groupId;
+
+        String artifactId;
+        String type;
+
+        @Nullable
+        String classifier;
+    }
+
+    /**
+     * Immutable once built, so that it may be shared by threads reading a resolved POM concurrently.
+     */
+    private static class ManagedDependencyIndex {
+        private final List<ResolvedManagedDependency> dependencyManagement;
+        private final int size;
+        private final Map<ManagedDependencyKey, ResolvedManagedDependency> byCoordinates;
+        private final Map<GroupArtifact, List<ResolvedManagedDependency>> byGroupArtifact;
+        private final Map<GroupArtifact, ResolvedManagedDependency> byBom;
+
+        ManagedDependencyIndex(@Nullable List<ResolvedManagedDependency> dependencyManagement) {
+            this.dependencyManagement = dependencyManagement == null ? emptyList() : dependencyManagement;
+            this.size = this.dependencyManagement.size();
+            Map<ManagedDependencyKey, ResolvedManagedDependency> byCoordinates = new HashMap<>(size * 2);
+            Map<GroupArtifact, List<ResolvedManagedDependency>> byGroupArtifact = new HashMap<>(size * 2);
+            Map<GroupArtifact, ResolvedManagedDependency> byBom = new HashMap<>();
+            for (ResolvedManagedDependency dm : this.dependencyManagement) {
+                // the first declaration wins, as it does when the dependency management is scanned in order
+                byCoordinates.putIfAbsent(new ManagedDependencyKey(dm.getGav().getGroupId(), dm.getArtifactId(),
+                        dm.getType(), dm.getClassifier()), dm);
+                byGroupArtifact.computeIfAbsent(new GroupArtifact(dm.getGav().getGroupId(), dm.getArtifactId()),
+                        ga -> new ArrayList<>(1)).add(dm);
+                if (dm.getBomGav() != null) {
+                    byBom.putIfAbsent(new GroupArtifact(dm.getBomGav().getGroupId(), dm.getBomGav().getArtifactId()), dm);
+                }
+            }
+            for (Map.Entry<GroupArtifact, List<ResolvedManagedDependency>> managed : byGroupArtifact.entrySet()) {
+                managed.setValue(unmodifiableList(managed.getValue()));
             }
+            this.byCoordinates = unmodifiableMap(byCoordinates);
+            this.byGroupArtifact = unmodifiableMap(byGroupArtifact);
+            this.byBom = unmodifiableMap(byBom);
+        }
+
+        boolean isIndexOf(@Nullable List<ResolvedManagedDependency> dependencyManagement) {
+            return dependencyManagement == null ?
+                    size == 0 :
+                    this.dependencyManagement == dependencyManagement && size == dependencyManagement.size();
         }
-        return null;
     }
 
     public GroupArtifactVersion getValues(GroupArtifactVersion gav) {
@@ -350,6 +439,7 @@ class Resolver {
 
         public ResolvedPom resolve() throws MavenDownloadingException {
             resolveParentsRecursively(requested);
+            managedDependencyIndex();
             return ResolvedPom.this;
         }
 
@@ -808,7 +898,21 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, MavenPomDownloa
 
     public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifact, VersionRequirement> requirements,
                                                         MavenPomDownloader downloader, ExecutionContext ctx) throws MavenDownloadingExceptions {
+        // the walk records the events it publishes, so that rolling it back also takes back every event published since
+        RecordingResolutionEventListener events = RecordingResolutionEventListener.start();
+        try {
+            return resolveDependencies(scope, requirements, downloader, ctx, events);
+        } finally {
+            events.stop();
+            events.replay(MavenExecutionContextView.view(ctx).getResolutionListener());
+        }
+    }
+
+    private List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifact, VersionRequirement> requirements,
+                                                         MavenPomDownloader downloader, ExecutionContext ctx,
+                                                         RecordingResolutionEventListener events) throws MavenDownloadingExceptions {
         List<ResolvedDependency> dependencies = new ArrayList<>();
+        Set<GroupArtifactClassifier> resolvedDependencies = new HashSet<>();
 
         List<DependencyAndDependent> dependenciesAtDepth = new ArrayList<>();
         for (Dependency requestedDependency : getRequestedDependencies()) {
@@ -819,157 +923,232 @@ public List<ResolvedDependency> resolveDependencies(Scope scope, Map<GroupArtifa
             }
         }
 
-        MavenDownloadingExceptions exceptions = null;
+        // Everything the walk does before it first reaches a group and artifact is unaffected by a later change
+        // to the version requirement of that group and artifact, so the walk is rolled back to that point only
+        List<ResolutionCheckpoint> checkpoints = new ArrayList<>();
+        Map<GroupArtifact, ResolutionCheckpoint> checkpointsByGa = new HashMap<>();
+        List<ResolvedDependency> linkedDependents = new ArrayList<>();
+        List<MavenDownloadingException> exceptions = new ArrayList<>();
+
+        // the values of the dependencies that were computed to prefetch them, each taken once by the walk
+        Map<DependencyAndDependent, Dependency> prefetchedValues = new IdentityHashMap<>();
+
         int depth = 0;
-        while (!dependenciesAtDepth.isEmpty()) {
-            List<DependencyAndDependent> dependenciesAtNextDepth = new ArrayList<>();
+        int index = 0;
+        List<DependencyAndDependent> dependenciesAtNextDepth = new ArrayList<>();
+        if (downloader.canPrefetch()) {
+            prefetch(dependenciesAtDepth, requirements, prefetchedValues, downloader, depth);
+        }
+        while (index < dependenciesAtDepth.size() || !dependenciesAtNextDepth.isEmpty()) {
+            if (index == dependenciesAtDepth.size()) {
+                dependenciesAtDepth = dependenciesAtNextDepth;
+                dependenciesAtNextDepth = new ArrayList<>();
+                depth++;
+                index = 0;
+                if (downloader.canPrefetch()) {
+                    prefetch(dependenciesAtDepth, requirements, prefetchedValues, downloader, depth);
+                }
+            }
 
-            for (DependencyAndDependent dd : dependenciesAtDepth) {
+            DependencyAndDependent dd = dependenciesAtDepth.get(index++);
+            Dependency d = prefetchedValues.remove(dd);
+            if (d == null) {
                 //First get the dependency (relative to the pom it was defined in)
-                Dependency d = dd.getDefinedIn().getValues(dd.getDependency(), depth);
+                d = dd.getDefinedIn().getValues(dd.getDependency(), depth);
                 //The dependency may be modified by the current pom's managed dependencies
                 d = getValues(d, depth);
-                try {
-                    if (d.getVersion() == null) {
-                        throw new MavenDownloadingException("No version provided", null, dd.getDependency().getGav());
-                    }
+            }
+            try {
+                if (d.getVersion() == null) {
+                    throw new MavenDownloadingException("No version provided", null, dd.getDependency().getGav());
+                }
 
-                    if (d.getType() != null && (!"jar".equals(d.getType()) && !"pom".equals(d.getType()))) {
-                        continue;
+                if (d.getType() != null && (!"jar".equals(d.getType()) && !"pom".equals(d.getType()))) {
+                    continue;
+                }
+
+                GroupArtifact ga = new GroupArtifact(d.getGroupId(), d.getArtifactId());
+                if (!checkpointsByGa.containsKey(ga)) {
+                    ResolutionCheckpoint checkpoint = new ResolutionCheckpoint(checkpoints.size(), ga, depth,
+                            dependenciesAtDepth, index - 1, dependenciesAtNextDepth, dependenciesAtNextDepth.size(),
+                            dependencies.size(), linkedDependents.size(), events.size(), exceptions.size());
+                    checkpoints.add(checkpoint);
+                    checkpointsByGa.put(ga, checkpoint);
+                }
+
+                VersionRequirement existingRequirement = requirements.get(ga);
+                if (existingRequirement == null) {
+                    VersionRequirement newRequirement = VersionRequirement.fromVersion(d.getVersion(), depth);
+                    requirements.put(ga, newRequirement);
+                    String newRequiredVersion = newRequirement.resolve(ga, downloader, getRepositories());
+                    if (newRequiredVersion == null) {
+                        throw new MavenParsingException("Could not resolve version for [" + ga + "] matching version requirements " + newRequirement);
                     }
+                    d = d.withGav(d.getGav().withVersion(newRequiredVersion));
+                } else {
+                    VersionRequirement newRequirement = existingRequirement.addRequirement(d.getVersion());
+                    requirements.put(ga, newRequirement);
 
-                    GroupArtifact ga = new GroupArtifact(d.getGroupId(), d.getArtifactId());
-                    VersionRequirement existingRequirement = requirements.get(ga);
-                    if (existingRequirement == null) {
-                        VersionRequirement newRequirement = VersionRequirement.fromVersion(d.getVersion(), depth);
-                        requirements.put(ga, newRequirement);
-                        String newRequiredVersion = newRequirement.resolve(ga, downloader, getRepositories());
-                        if (newRequiredVersion == null) {
-                            throw new MavenParsingException("Could not resolve version for [" + ga + "] matching version requirements " + newRequirement);
+                    String existingRequiredVersion = existingRequirement.resolve(ga, downloader, getRepositories());
+                    String newRequiredVersion = newRequirement.resolve(ga, downloader, getRepositories());
+                    if (newRequiredVersion == null) {
+                        throw new MavenParsingException("Could not resolve version for [" + ga + "] matching version requirements " + newRequirement);
+                    }
+                    d = d.withGav(d.getGav().withVersion(newRequiredVersion));
+
+                    if (!Objects.equals(existingRequiredVersion, newRequiredVersion)) {
+                        // go back to where this group and artifact was first seen with the knowledge of this new
+                        // requirement, throwing away any in progress resolution from there on because this
+                        // requirement could cause a change to just about anything we've seen since
+                        ResolutionCheckpoint checkpoint = checkpointsByGa.get(ga);
+                        for (ResolutionCheckpoint later : checkpoints.subList(checkpoint.getOrdinal() + 1, checkpoints.size())) {
+                            checkpointsByGa.remove(later.getGroupArtifact());
                         }
-                        d = d.withGav(d.getGav().withVersion(newRequiredVersion));
-                    } else {
-                        VersionRequirement newRequirement = existingRequirement.addRequirement(d.getVersion());
-                        requirements.put(ga, newRequirement);
+                        checkpoints.subList(checkpoint.getOrdinal() + 1, checkpoints.size()).clear();
 
-                        String existingRequiredVersion = existingRequirement.resolve(ga, downloader, getRepositories());
-                        String newRequiredVersion = newRequirement.resolve(ga, downloader, getRepositories());
-                        if (newRequiredVersion == null) {
-                            throw new MavenParsingException("Could not resolve version for [" + ga + "] matching version requirements " + newRequirement);
+                        dependencies.subList(checkpoint.getDependencies(), dependencies.size()).clear();
+                        resolvedDependencies.clear();
+                        for (ResolvedDependency resolved : dependencies) {
+                            resolvedDependencies.add(new GroupArtifactClassifier(resolved.getGroupId(), resolved.getArtifactId(), resolved.getClassifier()));
                         }
-                        d = d.withGav(d.getGav().withVersion(newRequiredVersion));
-
-                        if (!Objects.equals(existingRequiredVersion, newRequiredVersion)) {
-                            // start over from the top with the knowledge of this new requirement and throwing
-                            // away any in progress resolution because this requirement could cause a change
-                            // to just about anything we've seen to this point
-                            MavenExecutionContextView.view(ctx)
-                                    .getResolutionListener()
-                                    .clear();
-                            return resolveDependencies(scope, requirements, downloader, ctx);
-                        } else if (contains(dependencies, ga, d.getClassifier())) {
-                            // we've already resolved this previously and the requirement didn't change,
-                            // so just skip and continue on
-                            continue;
+                        for (int i = linkedDependents.size() - 1; i >= checkpoint.getLinkedDependents(); i--) {
+                            List<ResolvedDependency> includes = linkedDependents.get(i).getDependencies();
+                            includes.remove(includes.size() - 1);
                         }
-                    }
+                        linkedDependents.subList(checkpoint.getLinkedDependents(), linkedDependents.size()).clear();
+                        exceptions.subList(checkpoint.getExceptions(), exceptions.size()).clear();
 
-                    if ((d.getGav().getGroupId() != null && d.getGav().getGroupId().startsWith("${") && d.getGav().getGroupId().endsWith("}")) ||
-                        (d.getGav().getArtifactId().startsWith("${") && d.getGav().getArtifactId().endsWith("}")) ||
-                        (d.getGav().getVersion() != null && d.getGav().getVersion().startsWith("${") && d.getGav().getVersion().endsWith("}"))) {
-                        throw new MavenDownloadingException("Could not resolve property", null, d.getGav());
+                        events.truncate(checkpoint.getEvents());
+
+                        depth = checkpoint.getDepth();
+                        dependenciesAtDepth = checkpoint.getDependenciesAtDepth();
+                        index = checkpoint.getIndex();
+                        dependenciesAtNextDepth = checkpoint.getDependenciesAtNextDepth();
+                        dependenciesAtNextDepth.subList(checkpoint.getDependenciesAtNextDepthSize(), dependenciesAtNextDepth.size()).clear();
+                        continue;
+                    } else if (resolvedDependencies.contains(new GroupArtifactClassifier(ga.getGroupId(), ga.getArtifactId(), d.getClassifier()))) {
+                        // we've already resolved this previously and the requirement didn't change,
+                        // so just skip and continue on
+                        continue;
                     }
+                }
 
-                    Pom dPom = downloader.download(d.getGav(), null, dd.definedIn, getRepositories());
+                if ((d.getGav().getGroupId() != null && d.getGav().getGroupId().startsWith("${") && d.getGav().getGroupId().endsWith("}")) ||
+                    (d.getGav().getArtifactId().startsWith("${") && d.getGav().getArtifactId().endsWith("}")) ||
+                    (d.getGav().getVersion() != null && d.getGav().getVersion().startsWith("${") && d.getGav().getVersion().endsWith("}"))) {
+                    throw new MavenDownloadingException("Could not resolve property", null, d.getGav());
+                }
 
-                    MavenPomCache cache = MavenExecutionContextView.view(ctx).getPomCache();
-                    ResolvedPom resolvedPom = cache.getResolvedDependencyPom(dPom.getGav());
-                    if (resolvedPom == null) {
-                        resolvedPom = new ResolvedPom(dPom, getActiveProfiles(), emptyMap(),
-                                emptyList(), initialRepositories, emptyList(), emptyList(), emptyList(), emptyList());
-                        resolvedPom.resolver(ctx, downloader).resolveParentsRecursively(dPom);
-                        cache.putResolvedDependencyPom(dPom.getGav(), resolvedPom);
-                    }
+                Pom dPom = downloader.download(d.getGav(), null, dd.definedIn, getRepositories());
 
-                    ResolvedDependency resolved = new ResolvedDependency(dPom.getRepository(),
-                            resolvedPom.getGav(), dd.getDependency(), emptyList(),
-                            resolvedPom.getRequested().getLicenses(),
-                            resolvedPom.getValue(dd.getDependency().getType()),
-                            resolvedPom.getValue(dd.getDependency().getClassifier()),
-                            Boolean.valueOf(resolvedPom.getValue(dd.getDependency().getOptional())),
-                            depth,
-                            emptyList());
+                MavenPomCache cache = MavenExecutionContextView.view(ctx).getPomCache();
+                ResolvedPom resolvedPom = cache.getResolvedDependencyPom(dPom.getGav());
+                if (resolvedPom == null) {
+                    resolvedPom = new ResolvedPom(dPom, getActiveProfiles(), emptyMap(),
+                            emptyList(), initialRepositories, emptyList(), emptyList(), emptyList(), emptyList());
+                    resolvedPom.resolver(ctx, downloader).resolveParentsRecursively(dPom);
+                    cache.putResolvedDependencyPom(dPom.getGav(), resolvedPom);
+                }
 
-                    MavenExecutionContextView.view(ctx)
-                            .getResolutionListener()
-                            .dependency(scope, resolved, dd.getDefinedIn());
+                ResolvedDependency resolved = new ResolvedDependency(dPom.getRepository(),
+                        resolvedPom.getGav(), dd.getDependency(), emptyList(),
+                        resolvedPom.getRequested().getLicenses(),
+                        resolvedPom.getValue(dd.getDependency().getType()),
+                        resolvedPom.getValue(dd.getDependency().getClassifier()),
+                        Boolean.valueOf(resolvedPom.getValue(dd.getDependency().getOptional())),
+                        depth,
+                        emptyList());
 
-                    // build link between the including dependency and this one
-                    ResolvedDependency includedBy = dd.getDependent();
-                    if (includedBy != null) {
-                        if (includedBy.getDependencies().isEmpty()) {
-                            includedBy.unsafeSetDependencies(new ArrayList<>());
-                        }
-                        includedBy.getDependencies().add(resolved);
+                MavenExecutionContextView.view(ctx)
+                        .getResolutionListener()
+                        .dependency(scope, resolved, dd.getDefinedIn());
+
+                // build link between the including dependency and this one
+                ResolvedDependency includedBy = dd.getDependent();
+                if (includedBy != null) {
+                    if (includedBy.getDependencies().isEmpty()) {
+                        includedBy.unsafeSetDependencies(new ArrayList<>());
                     }
+                    includedBy.getDependencies().add(resolved);
+                    linkedDependents.add(includedBy);
+                }
 
-                    if (dd.getScope().transitiveOf(scope) == scope) {
-                        dependencies.add(resolved);
-                    } else {
+                if (dd.getScope().transitiveOf(scope) == scope) {
+                    dependencies.add(resolved);
+                    resolvedDependencies.add(new GroupArtifactClassifier(resolved.getGroupId(), resolved.getArtifactId(), resolved.getClassifier()));
+                } else {
+                    continue;
+                }
+
+                nextDependency:
+                for (Dependency d2 : resolvedPom.getRequestedDependencies()) {
+                    if (d2.getGroupId() == null) {
+                        d2 = d2.withGav(d2.getGav().withGroupId(resolvedPom.getGroupId()));
+                    }
+                    String optional = resolvedPom.getValue(d2.getOptional());
+                    if (optional != null && Boolean.parseBoolean(optional.trim())) {
                         continue;
                     }
-
-                    nextDependency:
-                    for (Dependency d2 : resolvedPom.getRequestedDependencies()) {
-                        if (d2.getGroupId() == null) {
-                            d2 = d2.withGav(d2.getGav().withGroupId(resolvedPom.getGroupId()));
-                        }
-                        String optional = resolvedPom.getValue(d2.getOptional());
-                        if (optional != null && Boolean.parseBoolean(optional.trim())) {
-                            continue;
-                        }
-                        if (d.getExclusions() != null) {
-                            for (GroupArtifact exclusion : d.getExclusions()) {
-                                if (matchesGlob(getValue(d2.getGroupId()), getValue(exclusion.getGroupId())) &&
-                                    matchesGlob(getValue(d2.getArtifactId()), getValue(exclusion.getArtifactId()))) {
-                                    if (resolved.getEffectiveExclusions().isEmpty()) {
-                                        resolved.unsafeSetEffectiveExclusions(new ArrayList<>());
-                                    }
-                                    resolved.getEffectiveExclusions().add(exclusion);
-                                    continue nextDependency;
+                    if (d.getExclusions() != null) {
+                        for (GroupArtifact exclusion : d.getExclusions()) {
+                            if (matchesGlob(getValue(d2.getGroupId()), getValue(exclusion.getGroupId())) &&
+                                matchesGlob(getValue(d2.getArtifactId()), getValue(exclusion.getArtifactId()))) {
+                                if (resolved.getEffectiveExclusions().isEmpty()) {
+                                    resolved.unsafeSetEffectiveExclusions(new ArrayList<>());
                                 }
+                                resolved.getEffectiveExclusions().add(exclusion);
+                                continue nextDependency;
                             }
                         }
+                    }
 
-                        Scope d2Scope = getDependencyScope(d2, resolvedPom);
-                        if (d2Scope.isInClasspathOf(dd.getScope())) {
-                            dependenciesAtNextDepth.add(new DependencyAndDependent(d2, d2Scope, resolved, dd.getRootDependent(), resolvedPom));
-                        }
+                    Scope d2Scope = getDependencyScope(d2, resolvedPom);
+                    if (d2Scope.isInClasspathOf(dd.getScope())) {
+                        dependenciesAtNextDepth.add(new DependencyAndDependent(d2, d2Scope, resolved, dd.getRootDependent(), resolvedPom));
                     }
-                } catch (MavenDownloadingException e) {
-                    exceptions = MavenDownloadingExceptions.append(exceptions, e.setRoot(dd.getRootDependent().getGav()));
                 }
+            } catch (MavenDownloadingException e) {
+                exceptions.add(e.setRoot(dd.getRootDependent().getGav()));
             }
-
-            dependenciesAtDepth = dependenciesAtNextDepth;
-            depth++;
         }
 
-        if (exceptions != null) {
-            throw exceptions;
+        if (!exceptions.isEmpty()) {
+            MavenDownloadingExceptions downloadingExceptions = null;
+            for (MavenDownloadingException exception : exceptions) {
+                downloadingExceptions = MavenDownloadingExceptions.append(downloadingExceptions, exception);
+            }
+            throw downloadingExceptions;
         }
 
         return dependencies;
     }
 
-    private boolean contains(List<ResolvedDependency> dependencies, GroupArtifact ga, @Nullable String classifier) {
-        for (ResolvedDependency it : dependencies) {
-            if (it.getGroupId().equals(ga.getGroupId()) && it.getArtifactId().equals(ga.getArtifactId()) &&
-                (Objects.equals(classifier, it.getClassifier()))) {
-                return true;
+    /**
+     * Start fetching the POMs of the dependencies at one depth concurrently, so that resolving them
+     * in order finds most of them in the POM cache. Dependencies that already have a version requirement
+     * are skipped, since they are usually either already resolved or resolved to another version.
+     * The values computed for each dependency are kept in {@code values} for the walk to reuse.
+     */
+    private void prefetch(List<DependencyAndDependent> dependenciesAtDepth, Map<GroupArtifact, VersionRequirement> requirements,
+                          Map<DependencyAndDependent, Dependency> values, MavenPomDownloader downloader, int depth) {
+        for (DependencyAndDependent dd : dependenciesAtDepth) {
+            Dependency d = getValues(dd.getDefinedIn().getValues(dd.getDependency(), depth), depth);
+            values.put(dd, d);
+            String version = d.getVersion();
+            if (d.getGroupId() == null || version == null ||
+                (d.getType() != null && !"jar".equals(d.getType()) && !"pom".equals(d.getType()))) {
+                continue;
+            }
+            GroupArtifact ga = new GroupArtifact(d.getGroupId(), d.getArtifactId());
+            if (requirements.containsKey(ga)) {
+                continue;
+            }
+            if ("LATEST".equals(version) || "RELEASE".equals(version) || version.contains("[") || version.contains("(")) {
+                downloader.prefetchMetadata(ga, getRepositories());
+            } else {
+                downloader.prefetch(d.getGav(), dd.getDefinedIn(), getRepositories());
             }
         }
-        return false;
     }
 
     private Scope getDependencyScope(Dependency d2, ResolvedPom containingPom) {
@@ -1042,4 +1221,31 @@ private static class DependencyAndDependent {
         Dependency rootDependent;
         ResolvedPom definedIn;
     }
+
+    @Value
+    private static class GroupArtifactClassifier {
+        String groupId;
+        String artifactId;
+
+        @Nullable
+        String classifier;
+    }
+
+    /**
+     * The state of a dependency walk just before it first reaches a group and artifact.
+     */
+    @Value
+    private static class ResolutionCheckpoint {
+        int ordinal;
+        GroupArtifact groupArtifact;
+        int depth;
+        List<DependencyAndDependent> dependenciesAtDepth;
+        int index;
+        List<DependencyAndDependent> dependenciesAtNextDepth;
+        int dependenciesAtNextDepthSize;
+        int dependencies;
+        int linkedDependents;
+        int events;
+        int exceptions;
+    }
 }
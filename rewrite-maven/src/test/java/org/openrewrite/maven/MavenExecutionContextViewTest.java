@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MavenExecutionContextViewTest {
+
+    @Test
+    void resolutionTimeRecordedConcurrently() throws InterruptedException {
+        var ctx = MavenExecutionContextView.view(new InMemoryExecutionContext());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 100; i++) {
+            // separate views of the same context share its resolution time
+            executor.submit(() -> new MavenExecutionContextView(ctx).recordResolutionTime(Duration.ofMillis(1)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ctx.getResolutionTime()).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void includesResolutionTimeRecordedInMilliseconds() {
+        var ctx = new InMemoryExecutionContext();
+        ctx.putMessage("org.openrewrite.maven.resolutionTime", 5L);
+
+        var view = MavenExecutionContextView.view(ctx).recordResolutionTime(Duration.ofMillis(2));
+        assertThat(view.getResolutionTime()).isEqualTo(Duration.ofMillis(7));
+    }
+}
@@ -27,6 +27,9 @@
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
 import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
 import org.openrewrite.maven.internal.MavenParsingException;
 import org.openrewrite.maven.tree.*;
 import org.openrewrite.test.RewriteTest;
@@ -34,9 +37,14 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
 import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -1967,6 +1975,154 @@ void canConnectProjectPomsWhenUsingCiFriendlyVersions() {
         );
     }
 
+    @Test
+    void resolveProjectPomsConcurrently() throws Exception {
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var ctx = MavenExecutionContextView.view(new InMemoryExecutionContext())
+              .setResolutionExecutor(executor);
+
+            var parsed = MavenParser.builder().build().parseInputs(multiModuleInputs(), null, ctx).toList();
+
+            assertThat(parsed).extracting(sf -> sf.getSourcePath().toString())
+              .containsExactly("pom.xml", "app/pom.xml", "rest/pom.xml");
+            var root = parsed.get(0).getMarkers().findFirst(MavenResolutionResult.class).orElseThrow();
+            assertThat(root.getModules()).hasSize(2);
+            var app = parsed.get(1).getMarkers().findFirst(MavenResolutionResult.class).orElseThrow();
+            for (Scope scope : List.of(Scope.Compile, Scope.Runtime, Scope.Test)) {
+                assertThat(app.getDependencies().get(scope))
+                  .extracting(ResolvedDependency::getArtifactId)
+                  .containsExactly("sample-rest");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void resolveProjectPomsConcurrentlyLikeSequentially() {
+        var sequentialEvents = new ArrayList<String>();
+        var sequential = MavenParser.builder().build().parseInputs(multiModuleInputs(), null,
+          MavenExecutionContextView.view(new InMemoryExecutionContext())
+            .setPomCache(new InMemoryMavenPomCache())
+            .setResolutionListener(eventLog(sequentialEvents))).toList();
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var concurrentEvents = new ArrayList<String>();
+            var concurrent = MavenParser.builder().build().parseInputs(multiModuleInputs(), null,
+              MavenExecutionContextView.view(new InMemoryExecutionContext())
+                .setPomCache(new InMemoryMavenPomCache())
+                .setResolutionListener(eventLog(concurrentEvents))
+                .setResolutionExecutor(executor)).toList();
+
+            assertThat(concurrentEvents).isNotEmpty().isEqualTo(sequentialEvents);
+            assertThat(concurrent).hasSameSizeAs(sequential);
+            for (int i = 0; i < sequential.size(); i++) {
+                assertThat(dependenciesByScope(concurrent.get(i))).isEqualTo(dependenciesByScope(sequential.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Parser.Input> multiModuleInputs() {
+        return List.of(
+          input("pom.xml",
+            //language=xml
+            """
+              <project>
+                <groupId>net.sample</groupId>
+                <artifactId>sample</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+                  <module>app</module>
+                  <module>rest</module>
+                </modules>
+              </project>
+              """),
+          input("app/pom.xml",
+            //language=xml
+            """
+              <project>
+                <parent>
+                  <groupId>net.sample</groupId>
+                  <artifactId>sample</artifactId>
+                  <version>1.0.0</version>
+                </parent>
+                <artifactId>sample-app</artifactId>
+                <dependencies>
+                  <dependency>
+                    <groupId>net.sample</groupId>
+                    <artifactId>sample-rest</artifactId>
+                    <version>${project.version}</version>
+                  </dependency>
+                </dependencies>
+              </project>
+              """),
+          input("rest/pom.xml",
+            //language=xml
+            """
+              <project>
+                <parent>
+                  <groupId>net.sample</groupId>
+                  <artifactId>sample</artifactId>
+                  <version>1.0.0</version>
+                </parent>
+                <artifactId>sample-rest</artifactId>
+              </project>
+              """)
+        );
+    }
+
+    private static ResolutionEventListener eventLog(List<String> events) {
+        return new ResolutionEventListener() {
+            @Override
+            public void download(GroupArtifactVersion gav) {
+                events.add("download " + gav);
+            }
+
+            @Override
+            public void downloadSuccess(ResolvedGroupArtifactVersion gav, @Nullable ResolvedPom containing) {
+                events.add("downloadSuccess " + gav);
+            }
+
+            @Override
+            public void downloadError(GroupArtifactVersion gav, List<String> attemptedUris, @Nullable Pom containing) {
+                events.add("downloadError " + gav);
+            }
+
+            @Override
+            public void parent(Pom parent, Pom containing) {
+                events.add("parent " + parent.getGav() + " of " + containing.getGav());
+            }
+
+            @Override
+            public void dependency(Scope scope, ResolvedDependency resolvedDependency, ResolvedPom containing) {
+                events.add("dependency " + scope + " " + resolvedDependency.getGav() + " in " + containing.getGav());
+            }
+
+            @Override
+            public void repository(MavenRepository mavenRepository, @Nullable ResolvedPom containing) {
+                events.add("repository " + mavenRepository.getUri());
+            }
+        };
+    }
+
+    private static Map<Scope, List<String>> dependenciesByScope(SourceFile pom) {
+        Map<Scope, List<String>> dependencies = new TreeMap<>();
+        pom.getMarkers().findFirst(MavenResolutionResult.class).orElseThrow().getDependencies()
+          .forEach((scope, resolved) -> dependencies.put(scope, resolved.stream()
+            .map(d -> d.getGav().toString())
+            .toList()));
+        return dependencies;
+    }
+
+    private static Parser.Input input(String path, @Language("xml") String pom) {
+        return new Parser.Input(Paths.get(path), () -> new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     @Issue("https://github.com/openrewrite/rewrite/issues/2049")
     void ciFriendlyVersionsStillWorkAfterUpdateMavenModel() {
@@ -32,6 +32,7 @@
 import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.MavenParser;
 import org.openrewrite.maven.MavenSettings;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
 import org.openrewrite.maven.tree.*;
 
 import java.io.ByteArrayInputStream;
@@ -42,6 +43,9 @@
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -49,6 +53,7 @@
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -470,6 +475,72 @@ public MockResponse dispatch(RecordedRequest recordedRequest) {
         }
     }
 
+    @Test
+    void prefetchesPomAndParentOnce() throws Exception {
+        var executor = Executors.newFixedThreadPool(4);
+        var pomRequests = new ConcurrentLinkedQueue<String>();
+        try (MockWebServer mockRepo = new MockWebServer()) {
+            mockRepo.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest recordedRequest) {
+                    String path = requireNonNull(recordedRequest.getPath());
+                    if (!path.endsWith(".pom")) {
+                        return new MockResponse().setResponseCode(200).setBody("");
+                    }
+                    pomRequests.add(path);
+                    return new MockResponse().setResponseCode(200).setBody(path.endsWith("fred-1.0.0.pom") ?
+                      //language=xml
+                      """
+                        <project>
+                            <parent>
+                                <groupId>fred</groupId>
+                                <artifactId>fred-parent</artifactId>
+                                <version>1.0.0</version>
+                            </parent>
+                            <artifactId>fred</artifactId>
+                        </project>
+                        """ :
+                      //language=xml
+                      """
+                        <project>
+                            <groupId>fred</groupId>
+                            <artifactId>fred-parent</artifactId>
+                            <version>1.0.0</version>
+                            <packaging>pom</packaging>
+                        </project>
+                        """);
+                }
+            });
+            mockRepo.start();
+            var prefetchCtx = MavenExecutionContextView.view(ctx)
+              .setPomCache(new InMemoryMavenPomCache())
+              .setDownloadExecutor(executor);
+            var downloader = new MavenPomDownloader(emptyMap(), prefetchCtx);
+            var repositories = List.of(MavenRepository.builder()
+              .id("id")
+              .uri("http://%s:%d/maven".formatted(mockRepo.getHostName(), mockRepo.getPort()))
+              .build());
+            var gav = new GroupArtifactVersion("fred", "fred", "1.0.0");
+            var parentGav = new GroupArtifactVersion("fred", "fred-parent", "1.0.0");
+
+            assertThat(downloader.canPrefetch()).isTrue();
+            downloader.prefetch(gav, null, repositories);
+            downloader.prefetch(gav, null, repositories);
+
+            assertThat(downloader.download(gav, null, null, repositories).getArtifactId()).isEqualTo("fred");
+            // the parent is prefetched once its child has been fetched, so wait for it to land in the cache
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(downloader.download(parentGav, null, null, repositories).getArtifactId()).isEqualTo("fred-parent");
+            assertThat(pomRequests).containsExactly(
+              "/maven/fred/fred/1.0.0/fred-1.0.0.pom",
+              "/maven/fred/fred-parent/1.0.0/fred-parent-1.0.0.pom"
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @Disabled
     void dontFetchSnapshotsFromReleaseRepos() {
@@ -698,6 +769,128 @@ void skipsLocalInvalidArtifactsMissingJar(@TempDir Path localRepository) throws
             .download(new GroupArtifactVersion("com.bad", "bad-artifact", "1"), null, null, List.of(mavenLocal)));
     }
 
+    @Test
+    void prefetchSkipsLocalInvalidArtifactsMissingJar(@TempDir Path localRepository) throws Exception {
+        Path localArtifact = localRepository.resolve("com/bad/bad-artifact/1");
+        Files.createDirectories(localArtifact);
+        Files.writeString(localArtifact.resolve("bad-artifact-1.pom"),
+          //language=xml
+          """
+             <project>
+               <groupId>com.bad</groupId>
+               <artifactId>bad-artifact</artifactId>
+               <version>1</version>
+             </project>
+            """
+        );
+
+        MavenRepository mavenLocal = MavenRepository.builder()
+          .id("local")
+          .uri(localRepository.toUri().toString())
+          .snapshots(false)
+          .knownToExist(true)
+          .build();
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var prefetchCtx = MavenExecutionContextView.view(new InMemoryExecutionContext())
+              .setPomCache(new InMemoryMavenPomCache())
+              .setDownloadExecutor(executor);
+            var downloader = new MavenPomDownloader(emptyMap(), prefetchCtx);
+            var gav = new GroupArtifactVersion("com.bad", "bad-artifact", "1");
+            downloader.prefetch(gav, null, List.of(mavenLocal));
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            // the prefetch rejects the POM for its missing jar just like the download does
+            assertThrows(MavenDownloadingException.class, () -> downloader.download(gav, null, null, List.of(mavenLocal)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void firstDownloadOfPrefetchedPomPublishesDownloadSuccess(@TempDir Path localRepository) throws Exception {
+        var gav = writeLocalArtifact(localRepository);
+        var repository = MavenRepository.builder()
+          .id("local")
+          .uri(localRepository.toUri().toString())
+          .knownToExist(true)
+          .build();
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var downloaded = new ArrayList<ResolvedGroupArtifactVersion>();
+            var prefetchCtx = MavenExecutionContextView.view(new InMemoryExecutionContext())
+              .setPomCache(new InMemoryMavenPomCache())
+              .setDownloadExecutor(executor);
+            prefetchCtx.setResolutionListener(new ResolutionEventListener() {
+                @Override
+                public void downloadSuccess(ResolvedGroupArtifactVersion gav, @Nullable ResolvedPom containing) {
+                    downloaded.add(gav);
+                }
+            });
+            var downloader = new MavenPomDownloader(emptyMap(), prefetchCtx);
+            downloader.prefetch(gav, null, List.of(repository));
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(downloaded).isEmpty();
+
+            downloader.download(gav, null, null, List.of(repository));
+            downloader.download(gav, null, null, List.of(repository));
+            assertThat(downloaded).singleElement()
+              .satisfies(resolved -> assertThat(resolved.getArtifactId()).isEqualTo("prefetched"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void prefetchOnShutDownExecutorLeavesPomToDownload(@TempDir Path localRepository) throws Exception {
+        var gav = writeLocalArtifact(localRepository);
+        var repository = MavenRepository.builder()
+          .id("local")
+          .uri(localRepository.toUri().toString())
+          .knownToExist(true)
+          .build();
+
+        var executor = Executors.newFixedThreadPool(2);
+        executor.shutdown();
+        var downloaded = new ArrayList<ResolvedGroupArtifactVersion>();
+        var prefetchCtx = MavenExecutionContextView.view(new InMemoryExecutionContext())
+          .setPomCache(new InMemoryMavenPomCache())
+          .setDownloadExecutor(executor);
+        prefetchCtx.setResolutionListener(new ResolutionEventListener() {
+            @Override
+            public void downloadSuccess(ResolvedGroupArtifactVersion gav, @Nullable ResolvedPom containing) {
+                downloaded.add(gav);
+            }
+        });
+        var downloader = new MavenPomDownloader(emptyMap(), prefetchCtx);
+        downloader.prefetch(gav, null, List.of(repository));
+        downloader.prefetchMetadata(new GroupArtifact(gav.getGroupId(), gav.getArtifactId()), List.of(repository));
+
+        assertThat(downloader.download(gav, null, null, List.of(repository)).getArtifactId()).isEqualTo("prefetched");
+        assertThat(downloaded).hasSize(1);
+    }
+
+    private static GroupArtifactVersion writeLocalArtifact(Path localRepository) throws IOException {
+        Path localArtifact = localRepository.resolve("com/good/prefetched/1");
+        Files.createDirectories(localArtifact);
+        Files.writeString(localArtifact.resolve("prefetched-1.pom"),
+          //language=xml
+          """
+             <project>
+               <groupId>com.good</groupId>
+               <artifactId>prefetched</artifactId>
+               <version>1</version>
+             </project>
+            """
+        );
+        Files.writeString(localArtifact.resolve("prefetched-1.jar"), "I'm a jar");
+        return new GroupArtifactVersion("com.good", "prefetched", "1");
+    }
+
     @Test
     void skipsLocalInvalidArtifactsEmptyJar(@TempDir Path localRepository) throws IOException {
         Path localArtifact = localRepository.resolve("com/bad/bad-artifact");
@@ -22,6 +22,8 @@
 import org.openrewrite.maven.tree.Pom;
 import org.openrewrite.maven.tree.Profile;
 import org.openrewrite.maven.tree.ProfileActivation;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.tree.Xml;
 
 import java.io.ByteArrayInputStream;
 
@@ -559,4 +561,72 @@ void deserializePluginConfiguration() throws JsonProcessingException {
         assertThat(plugin.getConfigurationList("grandparent.parent.child.stringList", String.class)).hasSize(4)
           .contains("f", "r", "e", "d");
     }
+
+    @Test
+    void bindFromParsedDocument() {
+        @Language("xml") String pomXml = """
+          <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+            <modelVersion>4.0.0</modelVersion>
+            <groupId>com.mycompany.app</groupId>
+            <artifactId>my-app</artifactId>
+            <version>1</version>
+            <name>Tom &amp; Jerry</name>
+            <properties>
+              <!-- a comment between properties -->
+              <guava.version>29.0-jre</guava.version>
+              <empty.property/>
+              <cdata.property><![CDATA[a < b]]></cdata.property>
+            </properties>
+            <dependencyManagement>
+              <dependencies>
+                <dependency>
+                  <groupId>com.google.guava</groupId>
+                  <artifactId>guava</artifactId>
+                  <version>${guava.version}</version>
+                </dependency>
+              </dependencies>
+            </dependencyManagement>
+            <dependencies>
+              <dependency>
+                <groupId>com.google.guava</groupId>
+                <artifactId>guava</artifactId>
+                <classifier/>
+                <exclusions>
+                  <exclusion>
+                    <groupId>com.google.code.findbugs</groupId>
+                    <artifactId>jsr305</artifactId>
+                  </exclusion>
+                </exclusions>
+              </dependency>
+            </dependencies>
+            <build>
+              <plugins>
+                <plugin>
+                  <groupId>org.apache.maven.plugins</groupId>
+                  <artifactId>maven-surefire-plugin</artifactId>
+                  <configuration>
+                    <includes>
+                      <include>**/*Tests.java</include>
+                    </includes>
+                  </configuration>
+                </plugin>
+              </plugins>
+            </build>
+          </project>
+          """;
+        Xml.Document document = new XmlParser()
+          .parse(pomXml)
+          .findFirst()
+          .map(Xml.Document.class::cast)
+          .orElseThrow();
+
+        Pom fromDocument = RawPom.parse(document, null).toPom(null, null);
+        Pom fromSource = RawPom.parse(new ByteArrayInputStream(pomXml.getBytes()), null).toPom(null, null);
+
+        assertThat(fromDocument).isEqualTo(fromSource);
+        assertThat(fromDocument.getName()).isEqualTo("Tom & Jerry");
+        assertThat(fromDocument.getProperties()).containsEntry("cdata.property", "a < b");
+        assertThat(fromDocument.getDependencies()).singleElement()
+          .satisfies(d -> assertThat(d.getExclusions()).hasSize(1));
+    }
 }
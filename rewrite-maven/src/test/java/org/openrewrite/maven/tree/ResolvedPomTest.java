@@ -17,9 +17,26 @@
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.MavenDownloadingExceptions;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.internal.RawPom;
+import org.openrewrite.maven.internal.VersionRequirement;
 import org.openrewrite.test.RewriteTest;
 
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.maven.Assertions.pomXml;
@@ -278,4 +295,219 @@ void resolveExecutionsFromDifferentParents() {
           )
         );
     }
+
+    @Test
+    void managedDependencyLookupsFollowDeclarationOrder() {
+        var pom = ResolvedPom.builder()
+          .dependencyManagement(List.of(
+            managed("org.example", "lib", "1.0", null, null, null),
+            managed("org.example", "lib", "2.0", null, "jar", null),
+            managed("org.example", "lib", "3.0", null, "test-jar", "tests"),
+            managed("org.example", "other", "4.0", Scope.Test, null, null)
+          ))
+          .build();
+
+        assertThat(pom.getManagedVersion("org.example", "lib", null, null)).isEqualTo("1.0");
+        assertThat(pom.getManagedVersion("org.example", "lib", "test-jar", "tests")).isEqualTo("3.0");
+        assertThat(pom.getManagedVersion("org.example", "lib", "jar", "tests")).isNull();
+        assertThat(pom.getManagedScope("org.example", "other", "jar", null)).isEqualTo(Scope.Test);
+        assertThat(pom.getManagedDependencies("org.example", "lib"))
+          .extracting(ResolvedManagedDependency::getVersion)
+          .containsExactly("1.0", "2.0", "3.0");
+    }
+
+    private static ResolvedManagedDependency managed(String groupId, String artifactId, String version,
+                                                     @Nullable Scope scope, @Nullable String type, @Nullable String classifier) {
+        var gav = new GroupArtifactVersion(groupId, artifactId, version);
+        return new ResolvedManagedDependency(gav, scope, type, classifier, List.of(),
+          new ManagedDependency.Defined(gav, null, type, classifier, List.of()), null, null);
+    }
+
+    @Test
+    void rollBackRequirementChangedAfterFirstUse(@TempDir Path repository) throws Exception {
+        publish(repository, "a", "1.0", dependency("c", "1.0"));
+        publish(repository, "b", "1.0", dependency("c", "[2.0,3.0)"));
+        publish(repository, "c", "1.0", dependency("d", "1.0"));
+        publish(repository, "c", "2.0", "");
+        publish(repository, "d", "1.0", "");
+        publishMetadata(repository, "c", "1.0", "2.0");
+
+        var resolution = assertRollsBackLikeFullRestart(repository, dependency("a", "1.0") + dependency("b", "1.0"));
+        assertThat(resolution.graph()).containsExactly(
+          "org.example:a:1.0 at 0 includes [org.example:c:2.0] excludes []",
+          "org.example:b:1.0 at 0 includes [] excludes []",
+          "org.example:c:2.0 at 1 includes [] excludes []"
+        );
+    }
+
+    @Test
+    void rollBackNearerWinsConflict(@TempDir Path repository) throws Exception {
+        publish(repository, "a", "1.0", dependency("c", "1.0") + dependency("d", "1.0"));
+        publish(repository, "b", "1.0", dependency("x", "1.0"));
+        publish(repository, "x", "1.0", dependency("c", "[2.0,3.0)") + dependency("d", "2.0"));
+        publish(repository, "c", "1.0", "");
+        publish(repository, "c", "2.0", "");
+        publish(repository, "d", "1.0", "");
+        publish(repository, "d", "2.0", "");
+        publishMetadata(repository, "c", "1.0", "2.0");
+
+        var resolution = assertRollsBackLikeFullRestart(repository, dependency("a", "1.0") + dependency("b", "1.0"));
+        // the range requested further away changes c, while the nearer soft version of d still wins
+        assertThat(resolution.graph()).containsExactly(
+          "org.example:a:1.0 at 0 includes [org.example:c:2.0, org.example:d:1.0] excludes []",
+          "org.example:b:1.0 at 0 includes [org.example:x:1.0] excludes []",
+          "org.example:c:2.0 at 1 includes [] excludes []",
+          "org.example:d:1.0 at 1 includes [] excludes []",
+          "org.example:x:1.0 at 1 includes [] excludes []"
+        );
+    }
+
+    @Test
+    void rollBackPastExclusion(@TempDir Path repository) throws Exception {
+        publish(repository, "a", "1.0", dependency("c", "1.0"));
+        publish(repository, "b", "1.0", dependency("e", "1.0", "d"));
+        publish(repository, "e", "1.0", dependency("c", "[2.0,3.0)") + dependency("d", "1.0"));
+        publish(repository, "c", "1.0", "");
+        publish(repository, "c", "2.0", "");
+        publish(repository, "d", "1.0", "");
+        publishMetadata(repository, "c", "1.0", "2.0");
+
+        var resolution = assertRollsBackLikeFullRestart(repository, dependency("a", "1.0") + dependency("b", "1.0"));
+        assertThat(resolution.graph()).containsExactly(
+          "org.example:a:1.0 at 0 includes [org.example:c:2.0] excludes []",
+          "org.example:b:1.0 at 0 includes [org.example:e:1.0] excludes []",
+          "org.example:c:2.0 at 1 includes [] excludes []",
+          "org.example:e:1.0 at 1 includes [] excludes [org.example:d]"
+        );
+    }
+
+    @Test
+    void rollBackKeepsDownloadErrorsBeforeChangedRequirement(@TempDir Path repository) throws Exception {
+        publish(repository, "a", "1.0", dependency("c", "1.0"));
+        publish(repository, "b", "1.0", dependency("c", "[2.0,3.0)"));
+        publish(repository, "c", "1.0", "");
+        publish(repository, "c", "2.0", "");
+        publishMetadata(repository, "c", "1.0", "2.0");
+
+        var resolution = assertRollsBackLikeFullRestart(repository,
+          dependency("missing", "1.0") + dependency("a", "1.0") + dependency("b", "1.0"));
+        assertThat(resolution.graph()).containsExactly("failed on org.example:missing:1.0");
+        assertThat(resolution.events()).contains("downloadError org.example:missing:1.0");
+    }
+
+    private record Resolution(List<String> graph, List<String> events) {
+    }
+
+    /**
+     * Resolve the compile scope of a POM with the given dependencies, which rolls back at least once, and
+     * compare it to a full restart, which walks the dependencies again from the start with all the version
+     * requirements that the rolled back resolution ran into.
+     */
+    private static Resolution assertRollsBackLikeFullRestart(Path repository, String dependencies) throws Exception {
+        var requirements = new HashMap<GroupArtifact, VersionRequirement>();
+        var rolledBack = resolve(repository, dependencies, requirements);
+        var restarted = resolve(repository, dependencies, new HashMap<>(requirements));
+
+        assertThat(rolledBack).isEqualTo(restarted);
+        assertThat(rolledBack.events())
+          .anyMatch(event -> event.startsWith("repository "))
+          .anyMatch(event -> event.startsWith("dependency "));
+        return rolledBack;
+    }
+
+    private static Resolution resolve(Path repository, String dependencies,
+                                      Map<GroupArtifact, VersionRequirement> requirements) throws Exception {
+        var events = new ArrayList<String>();
+        var ctx = MavenExecutionContextView.view(new InMemoryExecutionContext())
+          .setPomCache(new InMemoryMavenPomCache())
+          .setAddLocalRepository(false)
+          .setAddCentralRepository(false)
+          .setResolutionListener(new ResolutionEventListener() {
+              @Override
+              public void download(GroupArtifactVersion gav) {
+                  events.add("download " + gav);
+              }
+
+              @Override
+              public void downloadError(GroupArtifactVersion gav, List<String> attemptedUris, @Nullable Pom containing) {
+                  events.add("downloadError " + gav);
+              }
+
+              @Override
+              public void dependency(Scope scope, ResolvedDependency resolvedDependency, ResolvedPom containing) {
+                  events.add("dependency " + resolvedDependency.getGav() + " in " + containing.getGav());
+              }
+
+              @Override
+              public void repository(MavenRepository mavenRepository, @Nullable ResolvedPom containing) {
+                  events.add("repository " + mavenRepository.getUri());
+              }
+          });
+        var downloader = new MavenPomDownloader(ctx);
+        var pom = RawPom.parse(new ByteArrayInputStream(pom(repository, "root", "1.0", dependencies).getBytes(StandardCharsets.UTF_8)), null)
+          .toPom(Paths.get("pom.xml"), null)
+          .resolve(List.of(), downloader, ctx);
+        events.clear();
+
+        List<String> graph = new ArrayList<>();
+        try {
+            for (ResolvedDependency resolved : pom.resolveDependencies(Scope.Compile, requirements, downloader, ctx)) {
+                graph.add(resolved.getGav() + " at " + resolved.getDepth() +
+                          " includes " + resolved.getDependencies().stream().map(d -> d.getGav().toString()).toList() +
+                          " excludes " + resolved.getEffectiveExclusions().stream().map(e -> e.getGroupId() + ":" + e.getArtifactId()).toList());
+            }
+        } catch (MavenDownloadingExceptions e) {
+            for (MavenDownloadingException exception : e.getExceptions()) {
+                graph.add("failed on " + exception.getFailedOn());
+            }
+        }
+        return new Resolution(graph, events);
+    }
+
+    private static void publish(Path repository, String artifactId, String version, String dependencies) throws IOException {
+        Path dir = Files.createDirectories(repository.resolve("org/example").resolve(artifactId).resolve(version));
+        Files.writeString(dir.resolve(artifactId + "-" + version + ".pom"), pom(repository, artifactId, version, dependencies));
+        Files.writeString(dir.resolve(artifactId + "-" + version + ".jar"), "jar");
+    }
+
+    private static void publishMetadata(Path repository, String artifactId, String... versions) throws IOException {
+        Files.writeString(repository.resolve("org/example").resolve(artifactId).resolve("maven-metadata.xml"),
+          //language=xml
+          """
+            <metadata>
+              <groupId>org.example</groupId>
+              <artifactId>%s</artifactId>
+              <versioning>
+                <versions>%s</versions>
+              </versioning>
+            </metadata>
+            """.formatted(artifactId, Arrays.stream(versions).map(v -> "<version>" + v + "</version>").collect(Collectors.joining())));
+    }
+
+    private static String pom(Path repository, String artifactId, String version, String dependencies) {
+        //language=xml
+        return """
+          <project>
+            <groupId>org.example</groupId>
+            <artifactId>%s</artifactId>
+            <version>%s</version>
+            <repositories>
+              <repository>
+                <id>local</id>
+                <url>%s</url>
+              </repository>
+            </repositories>
+            <dependencies>%s</dependencies>
+          </project>
+          """.formatted(artifactId, version, repository.toUri(), dependencies);
+    }
+
+    private static String dependency(String artifactId, String version, String... exclusions) {
+        return "<dependency><groupId>org.example</groupId><artifactId>" + artifactId + "</artifactId>" +
+               "<version>" + version + "</version>" +
+               (exclusions.length == 0 ? "" : Arrays.stream(exclusions)
+                 .map(e -> "<exclusion><groupId>org.example</groupId><artifactId>" + e + "</artifactId></exclusion>")
+                 .collect(Collectors.joining("", "<exclusions>", "</exclusions>"))) +
+               "</dependency>";
+    }
 }